@@ -0,0 +1,209 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Deterministic inputs for the benchmarks: every generator takes a seed, so the
+ * same fixture is produced on every run and results are comparable across commits.
+ */
+final class BenchFixtures {
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Carol", "David", "Elena", "Farid", "Grace", "Hiro", "Ines", "Jonas",
+            "Kavya", "Liam", "Maria", "Nikhil", "Olga", "Pedro", "Qing", "Rahul", "Sofia", "Tomas"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Anderson", "Brown", "Chen", "Dubois", "Evans", "Fischer", "Garcia", "Hansen", "Iyer", "Jensen",
+            "Kowalski", "Lopez", "M\u00FCller", "Novak", "O'Brien", "Patel", "Quinn", "Rossi", "Smith", "Tanaka"
+    };
+
+    private static final String[] WORDS = {
+            "designed", "implemented", "led", "migrated", "optimized", "built", "maintained", "delivered",
+            "service", "platform", "pipeline", "customers", "latency", "throughput", "team", "release",
+            "reliability", "dashboard", "integration", "reporting", "scalable", "distributed", "secure",
+            "reduced", "improved", "automated", "infrastructure", "requirements", "stakeholders", "data"
+    };
+
+    // Characters PDF extraction typically leaves behind
+    private static final String[] NOISE = {
+            "  ", "\t", "\r\n", "\u00A0", "\u200B", "\u00AD", " \u2022 ", "\n\n\n", "\u2013"
+    };
+
+    private static final String[] SECTIONS = {"Summary", "Experience", "Projects", "Education", "Certifications"};
+
+    private static List<String> catalogPhrases;
+
+    private BenchFixtures() {
+    }
+
+    /**
+     * Every skill phrase from the bundled catalog, in file order
+     */
+    static synchronized List<String> catalogPhrases() {
+        if (catalogPhrases == null) {
+            catalogPhrases = List.copyOf(catalog().getPhrases().keySet());
+        }
+        return catalogPhrases;
+    }
+
+    static SkillCatalog.Snapshot catalog() {
+        try (InputStream in = new ClassPathResource("skills/catalog.txt").getInputStream()) {
+            return SkillCatalog.Snapshot.parse(in, new SkillCatalog.FuzzyOptions(true, 0.85, 2, 5));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Skills as they appear in extractions: mostly catalog phrases in varying case and
+     * punctuation, some misspelled, some unknown to the catalog
+     */
+    static List<String> skills(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> phrases = catalogPhrases();
+        List<String> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String skill = phrases.get(random.nextInt(phrases.size()));
+            int variant = random.nextInt(10);
+            if (variant < 2) {
+                skill = skill.toUpperCase(Locale.ROOT);
+            } else if (variant < 3) {
+                skill = skill.replace(' ', '-');
+            } else if (variant < 4 && skill.length() > 6) {
+                // Transposed letters, within fuzzy matching distance
+                char[] chars = skill.toCharArray();
+                int at = 1 + random.nextInt(chars.length - 3);
+                char c = chars[at];
+                chars[at] = chars[at + 1];
+                chars[at + 1] = c;
+                skill = new String(chars);
+            } else if (variant < 5) {
+                skill = "Inhouse Tool " + random.nextInt(1000);
+            }
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    /**
+     * Raw resume text as PDFBox returns it, roughly the given number of characters
+     */
+    static String resumeText(int chars, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(chars + 256);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        text.append(first).append(' ').append(last).append('\n')
+                .append(first.toLowerCase(Locale.ROOT)).append('.').append(last.toLowerCase(Locale.ROOT))
+                .append("@example.com | +1 555 010 ").append(1000 + random.nextInt(9000)).append('\n');
+        text.append("Skills: ").append(String.join(", ", skills(15, seed))).append('\n');
+
+        int section = 0;
+        while (text.length() < chars) {
+            if (random.nextInt(12) == 0) {
+                text.append('\n').append(SECTIONS[section++ % SECTIONS.length]).append('\n');
+            }
+            text.append(random.nextBoolean() ? "\u2022 " : "- ");
+            int words = 8 + random.nextInt(14);
+            for (int i = 0; i < words; i++) {
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+                text.append(random.nextInt(8) == 0 ? NOISE[random.nextInt(NOISE.length)] : " ");
+            }
+            text.append(".\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * A single-extraction Gemini reply in the prompted "Field: value" format
+     */
+    static String geminiResponse(int skills, long seed) {
+        Random random = new Random(seed);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return "Here is the extracted information:\n\n"
+                + "Name: " + first + " " + last + "\n"
+                + "Email: " + first.toLowerCase(Locale.ROOT) + "@example.com\n"
+                + "Skills: " + String.join(", ", skills(skills, seed)) + "\n";
+    }
+
+    /**
+     * Screened candidates; skill lines are shared between candidates to keep a million of them affordable
+     */
+    static List<Candidate> candidates(int count, long seed) {
+        Random random = new Random(seed);
+        String[] skillLines = new String[64];
+        String[] matchedLines = new String[64];
+        for (int i = 0; i < skillLines.length; i++) {
+            List<String> skills = skills(12, seed + i);
+            skillLines[i] = String.join(", ", skills);
+            matchedLines[i] = String.join(", ", skills.subList(0, 4));
+        }
+        LocalDateTime processedAt = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+        List<Candidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Candidate candidate = new Candidate();
+            candidate.setId((long) i + 1);
+            candidate.setName(FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / 20) % LAST_NAMES.length]);
+            candidate.setEmail("candidate" + i + "@example.com");
+            candidate.setSkills(skillLines[random.nextInt(skillLines.length)]);
+            candidate.setMatchedSkills(matchedLines[random.nextInt(matchedLines.length)]);
+            candidate.setMatchScore(random.nextInt(1001) / 10.0);
+            candidate.setEmailSent(random.nextBoolean());
+            candidate.setProcessedAt(processedAt.plusSeconds(i));
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    /**
+     * A text resume of the given number of pages, written with the standard Helvetica font
+     */
+    static void writeResumePdf(Path file, int pages, long seed) throws IOException {
+        String text = resumeText(pages * 3000, seed);
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            // Only what WinAnsiEncoding can show; the rest of the noise is a text-side concern
+            String printable = line.replaceAll("[^\\x20-\\x7E]", " ");
+            while (printable.length() > 90) {
+                lines.add(printable.substring(0, 90));
+                printable = printable.substring(90);
+            }
+            lines.add(printable);
+        }
+
+        try (PDDocument document = new PDDocument()) {
+            int perPage = Math.max(1, (lines.size() + pages - 1) / pages);
+            for (int page = 0; page < pages; page++) {
+                PDPage pdfPage = new PDPage();
+                document.addPage(pdfPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdfPage)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.newLineAtOffset(40, 750);
+                    int end = Math.min(lines.size(), (page + 1) * perPage);
+                    for (int i = page * perPage; i < end; i++) {
+                        content.showText(lines.get(i));
+                        content.newLineAtOffset(0, -11);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+    }
+}
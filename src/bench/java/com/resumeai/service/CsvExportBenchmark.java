@@ -0,0 +1,45 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV export of the ranking: the streaming download (to a discarding writer, so
+ * only formatting is measured) and the in-memory string export
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int candidates;
+
+    private final CSVService csvService = new CSVService();
+    private List<Candidate> candidateList;
+    private ResumeService.CandidateStats stats;
+
+    @Setup
+    public void setUp() {
+        candidateList = BenchFixtures.candidates(candidates, 5);
+        stats = new ResumeService.CandidateStats(candidates, candidates / 2, candidates / 3, 50.0);
+    }
+
+    @Benchmark
+    public long writeStreaming() throws IOException {
+        return csvService.writeCandidateCSVWithStats(Writer.nullWriter(), candidateList.stream(), stats);
+    }
+
+    @Benchmark
+    public String generateInMemory() {
+        return csvService.generateCandidateCSV(candidateList);
+    }
+}
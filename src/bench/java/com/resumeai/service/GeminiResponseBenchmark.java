@@ -0,0 +1,50 @@
+package com.resumeai.service;
+
+import com.resumeai.util.TextNormalizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of single-extraction Gemini replies ("Name: ...", "Email: ...",
+ * "Skills: a, b, c") with short to very long skill lists
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeminiResponseBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int skills;
+
+    private String response;
+    private String markdownResponse;
+
+    @Setup
+    public void setUp() {
+        response = BenchFixtures.geminiResponse(skills, 4);
+        markdownResponse = response.replace("Name:", "**Name:**").replace("Email:", "**Email:**")
+                .replace("Skills:", "* **Skills:**");
+    }
+
+    @Benchmark
+    public void extractField(Blackhole blackhole) {
+        blackhole.consume(GeminiService.extractField(response, "name"));
+        blackhole.consume(GeminiService.extractField(response, "email"));
+    }
+
+    @Benchmark
+    public List<String> parseSkillsFromResponse() {
+        return GeminiService.parseSkillsFromResponse(response);
+    }
+
+    @Benchmark
+    public String stripMarkdown() {
+        return TextNormalizer.stripMarkdown(markdownResponse);
+    }
+}
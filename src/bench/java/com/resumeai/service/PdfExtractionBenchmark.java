@@ -0,0 +1,71 @@
+package com.resumeai.service;
+
+import com.resumeai.util.PathMultipartFile;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text extraction through PDFService (PDFBox plus normalization) from generated
+ * text resumes of one page up to the page cap, with and without page-range
+ * parallelism (which only applies from resume.pdf.parallel.min-pages up)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfExtractionBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int pages;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private Path directory;
+    private PathMultipartFile resume;
+    private ExecutorService pageExecutor;
+    private PDFService pdfService;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("resume-bench");
+        Path file = directory.resolve("resume-" + pages + ".pdf");
+        BenchFixtures.writeResumePdf(file, pages, 6);
+        resume = new PathMultipartFile(file, file.getFileName().toString(), "application/pdf", false);
+
+        pageExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        pdfService = new PDFService();
+        ReflectionTestUtils.setField(pdfService, "pdfPageExecutor", pageExecutor);
+        ReflectionTestUtils.setField(pdfService, "maxMainMemoryMb", 4L);
+        ReflectionTestUtils.setField(pdfService, "maxPages", 20);
+        ReflectionTestUtils.setField(pdfService, "maxChars", 100_000);
+        ReflectionTestUtils.setField(pdfService, "parallelEnabled", parallel);
+        ReflectionTestUtils.setField(pdfService, "parallelMinPages", 12);
+        ReflectionTestUtils.setField(pdfService, "minPagesPerRange", 4);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pageExecutor.shutdownNow();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public String extractText() throws IOException {
+        return pdfService.extractTextFromPDF(resume);
+    }
+}
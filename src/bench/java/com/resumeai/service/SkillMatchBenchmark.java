@@ -0,0 +1,59 @@
+package com.resumeai.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill matching of one candidate against a job description, with the job's skills
+ * compiled once per batch (as the pipeline does) and compiled on every call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillMatchBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int jobSkills;
+
+    @Param({"10", "100", "500"})
+    private int candidateSkills;
+
+    private GeminiService geminiService;
+    private List<String> jobSkillList;
+    private SkillCatalog.SkillSet jobSkillSet;
+    private List<String> candidateSkillList;
+
+    @Setup
+    public void setUp() throws Exception {
+        SkillCatalog catalog = new SkillCatalog();
+        ReflectionTestUtils.setField(catalog, "classpathCatalog", "skills/catalog.txt");
+        ReflectionTestUtils.setField(catalog, "fuzzyEnabled", true);
+        ReflectionTestUtils.setField(catalog, "fuzzyMinSimilarity", 0.85);
+        ReflectionTestUtils.setField(catalog, "fuzzyMaxEdits", 2);
+        ReflectionTestUtils.setField(catalog, "fuzzyMinLength", 5);
+        catalog.init();
+
+        geminiService = new GeminiService();
+        ReflectionTestUtils.setField(geminiService, "skillCatalog", catalog);
+
+        jobSkillList = BenchFixtures.skills(jobSkills, 1);
+        jobSkillSet = catalog.compile(jobSkillList);
+        candidateSkillList = BenchFixtures.skills(candidateSkills, 2);
+    }
+
+    @Benchmark
+    public GeminiService.SkillMatch compiledJobSkills() {
+        return geminiService.calculateSkillMatch(jobSkillSet, candidateSkillList);
+    }
+
+    @Benchmark
+    public GeminiService.SkillMatch jobSkillList() {
+        return geminiService.calculateSkillMatch(jobSkillList, candidateSkillList);
+    }
+}
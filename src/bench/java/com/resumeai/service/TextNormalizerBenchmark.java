@@ -0,0 +1,34 @@
+package com.resumeai.service;
+
+import com.resumeai.util.TextNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cleanup of extracted PDF text (whitespace, invisible characters) for resumes of
+ * typical, long and pathological length
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextNormalizerBenchmark {
+
+    @Param({"2000", "20000", "200000"})
+    private int chars;
+
+    private String rawText;
+
+    @Setup
+    public void setUp() {
+        rawText = BenchFixtures.resumeText(chars, 3);
+    }
+
+    @Benchmark
+    public String normalize() {
+        return TextNormalizer.normalize(rawText);
+    }
+}
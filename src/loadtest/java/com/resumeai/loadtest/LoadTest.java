@@ -0,0 +1,398 @@
+package com.resumeai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.resumeai.App;
+import com.resumeai.service.EmailOutboxService;
+import com.resumeai.service.PipelineMetrics;
+import com.resumeai.util.LatencyHistogram;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load test: runs the application in this JVM against a stub Gemini
+ * server and an SMTP sink, drives /upload with generated PDFs from concurrent
+ * clients, and reports throughput, latency percentiles, heap/GC activity and the
+ * per-stage {@link PipelineMetrics}.
+ *
+ * Options (--key=value):
+ *   concurrency         parallel upload clients (4)
+ *   uploads             measured uploads (20)
+ *   resumes             PDFs per upload (10)
+ *   pages               pages per PDF (1)
+ *   warmup              unmeasured uploads before the run (2)
+ *   llm-profile         fast | realistic | flaky | throttled (realistic)
+ *   llm-latency-ms, llm-jitter-ms, llm-error-rate, llm-throttle-rate   override the profile
+ *   email-wait-seconds  how long to wait for the email outbox to drain (30)
+ *   job-description     job description sent with every upload
+ *   report              also write the results as JSON to this file
+ * Any other --key=value is passed to the application, e.g. --resume.pipeline.batch-extraction=true.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final MediaType PDF = MediaType.get("application/pdf");
+    private static final Pattern JOB_ID = Pattern.compile("[?&]jobId=([^&]+)");
+
+    private static final List<String> HARNESS_OPTIONS = List.of("concurrency", "uploads", "resumes", "pages",
+            "warmup", "llm-profile", "llm-latency-ms", "llm-jitter-ms", "llm-error-rate", "llm-throttle-rate",
+            "email-wait-seconds", "job-description", "report");
+
+    private final Map<String, String> options;
+    private final OkHttpClient http = new OkHttpClient.Builder()
+            .followRedirects(false)
+            .readTimeout(Duration.ofMinutes(5))
+            .build();
+    private String baseUrl;
+
+    private final LatencyHistogram uploadLatency = new LatencyHistogram();
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+    private final AtomicLong scored = new AtomicLong();
+    private final AtomicLong failedFiles = new AtomicLong();
+    private final AtomicLong failedUploads = new AtomicLong();
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            (HARNESS_OPTIONS.contains(key) ? options : appProperties).put(key, value);
+        }
+
+        int status;
+        try {
+            status = new LoadTest(options).run(appProperties);
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        // Scheduler and pool threads of the application would keep the JVM alive
+        System.exit(status);
+    }
+
+    private int run(Map<String, String> appProperties) throws Exception {
+        int concurrency = intOption("concurrency", 4);
+        int uploads = intOption("uploads", 20);
+        int resumes = intOption("resumes", 10);
+        int pages = intOption("pages", 1);
+        int warmup = intOption("warmup", 2);
+        String jobDescription = options.getOrDefault("job-description",
+                "Backend engineer with Java, Spring Boot, SQL, Docker and Kubernetes experience, AWS a plus.");
+        StubGemini.Profile profile = StubGemini.Profile.named(options.getOrDefault("llm-profile", "realistic"))
+                .with(longOption("llm-latency-ms"), longOption("llm-jitter-ms"),
+                        doubleOption("llm-error-rate"), doubleOption("llm-throttle-rate"));
+
+        // Generated up front so PDF rendering is not part of the measurement
+        System.out.printf("Generating %d resumes of %d page(s)...%n", (warmup + uploads) * resumes, pages);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<List<byte[]>> batches = new ArrayList<>();
+        for (int upload = 0; upload < warmup + uploads; upload++) {
+            List<byte[]> files = new ArrayList<>();
+            for (int i = 0; i < resumes; i++) {
+                files.add(ResumePdfs.generate(runId, upload * resumes + i, pages, 42));
+            }
+            batches.add(files);
+        }
+
+        StubGemini gemini = new StubGemini(profile);
+        gemini.start();
+        SmtpSink smtp = new SmtpSink();
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("gemini.api.url", gemini.url());
+        properties.put("gemini.api.key", "loadtest");
+        properties.put("gemini.client.requests-per-minute", "1000000");
+        properties.put("gemini.client.tokens-per-minute", "1000000000");
+        // Every resume goes through the stub instead of the local extractor
+        properties.put("resume.local-extraction.enabled", "false");
+        properties.put("resume.email.outbox.poll-interval-ms", "200");
+        properties.put("resume.email.outbox.max-per-minute", "1000000");
+        properties.put("spring.mail.host", "127.0.0.1");
+        properties.put("spring.mail.port", Integer.toString(smtp.getPort()));
+        properties.put("spring.mail.username", "loadtest@example.com");
+        properties.put("spring.mail.password", "unused");
+        properties.put("spring.mail.properties.mail.smtp.auth", "false");
+        properties.put("spring.mail.properties.mail.smtp.starttls.enable", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.resumeai", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.springframework.mail", "WARN");
+        properties.put("logging.level.org.apache.pdfbox", "ERROR");
+        properties.putAll(appProperties);
+        List<String> appArgs = new ArrayList<>();
+        properties.forEach((key, value) -> appArgs.add("--" + key + "=" + value));
+
+        ConfigurableApplicationContext context = SpringApplication.run(App.class, appArgs.toArray(new String[0]));
+        try {
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            PipelineMetrics pipelineMetrics = context.getBean(PipelineMetrics.class);
+            EmailOutboxService outbox = context.getBean(EmailOutboxService.class);
+
+            System.out.printf("Warming up with %d upload(s)...%n", warmup);
+            for (int upload = 0; upload < warmup; upload++) {
+                screen(jobDescription, batches.get(upload), false);
+            }
+            awaitOutbox(outbox, intOption("email-wait-seconds", 30));
+
+            pipelineMetrics.reset();
+            long geminiRequestsBefore = gemini.getRequests();
+            long geminiErrorsBefore = gemini.getErrors();
+            long geminiThrottledBefore = gemini.getThrottled();
+            long smtpBefore = smtp.getMessages();
+            System.gc();
+            long heapBefore = heapUsed();
+            List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                    heapPools.add(pool);
+                }
+            }
+            Map<String, long[]> gcBefore = gcCounters();
+
+            System.out.printf("Running %d upload(s) x %d resume(s) with %d client(s), LLM %s...%n",
+                    uploads, resumes, concurrency, profile);
+            AtomicInteger next = new AtomicInteger(warmup);
+            ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+            long started = System.nanoTime();
+            for (int c = 0; c < concurrency; c++) {
+                clients.execute(() -> {
+                    int upload;
+                    while ((upload = next.getAndIncrement()) < warmup + uploads) {
+                        try {
+                            screen(jobDescription, batches.get(upload), true);
+                        } catch (Exception e) {
+                            failedUploads.incrementAndGet();
+                            System.err.println("Upload failed: " + e.getMessage());
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.DAYS);
+            double wallSeconds = (System.nanoTime() - started) / 1e9;
+            boolean drained = awaitOutbox(outbox, intOption("email-wait-seconds", 30));
+
+            long heapAfter = heapUsed();
+            long heapPeak = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                heapPeak += pool.getPeakUsage().getUsed();
+            }
+            Map<String, Object> gc = new LinkedHashMap<>();
+            gcCounters().forEach((name, after) -> {
+                long[] before = gcBefore.getOrDefault(name, new long[2]);
+                gc.put(name, Map.of("collections", after[0] - before[0], "timeMs", after[1] - before[1]));
+            });
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("concurrency", concurrency);
+            report.put("uploads", uploads);
+            report.put("resumesPerUpload", resumes);
+            report.put("pagesPerResume", pages);
+            report.put("llmProfile", profile.toString());
+            report.put("wallSeconds", wallSeconds);
+            report.put("resumesPerSecond", uploads * resumes / wallSeconds);
+            report.put("scoredCandidates", scored.get());
+            report.put("failedFiles", failedFiles.get());
+            report.put("failedUploads", failedUploads.get());
+            report.put("uploadLatencyMs", percentiles(uploadLatency));
+            report.put("batchLatencyMs", percentiles(batchLatency));
+            report.put("geminiRequests", gemini.getRequests() - geminiRequestsBefore);
+            report.put("geminiErrors", gemini.getErrors() - geminiErrorsBefore);
+            report.put("geminiThrottled", gemini.getThrottled() - geminiThrottledBefore);
+            report.put("emailsSent", smtp.getMessages() - smtpBefore);
+            report.put("emailOutboxDrained", drained);
+            report.put("heapBeforeBytes", heapBefore);
+            report.put("heapAfterBytes", heapAfter);
+            report.put("heapPeakBytes", heapPeak);
+            report.put("gc", gc);
+            report.put("stages", pipelineMetrics.getStats());
+
+            print(report, pipelineMetrics.getStats());
+            if (options.containsKey("report")) {
+                MAPPER.writeValue(new File(options.get("report")), report);
+                System.out.println("Report written to " + options.get("report"));
+            }
+            return failedUploads.get() == 0 ? 0 : 1;
+        } finally {
+            context.close();
+            gemini.stop();
+            smtp.shutdown();
+        }
+    }
+
+    /**
+     * Upload one batch and poll the job until it finishes
+     */
+    private void screen(String jobDescription, List<byte[]> files, boolean measured) throws IOException, InterruptedException {
+        MultipartBody.Builder body = new MultipartBody.Builder().setType(MultipartBody.FORM)
+                .addFormDataPart("jobDescription", jobDescription);
+        for (int i = 0; i < files.size(); i++) {
+            body.addFormDataPart("resumeFiles", "resume-" + i + ".pdf", RequestBody.create(files.get(i), PDF));
+        }
+
+        long started = System.nanoTime();
+        String jobId;
+        try (Response response = http.newCall(new Request.Builder().url(baseUrl + "/upload").post(body.build()).build())
+                .execute()) {
+            String location = response.header("Location", "");
+            Matcher matcher = JOB_ID.matcher(location);
+            if (response.code() != 302 || !matcher.find()) {
+                throw new IOException("Upload rejected: HTTP " + response.code() + " -> " + location);
+            }
+            jobId = matcher.group(1);
+        }
+        long uploaded = System.nanoTime();
+
+        JsonNode job;
+        while (true) {
+            try (Response response = http.newCall(new Request.Builder().url(baseUrl + "/api/jobs/" + jobId).build())
+                    .execute()) {
+                job = MAPPER.readTree(response.body().string());
+            }
+            String status = job.path("status").asText();
+            if ("COMPLETED".equals(status) || "FAILED".equals(status)) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        long finished = System.nanoTime();
+
+        if (measured) {
+            uploadLatency.record(uploaded - started);
+            batchLatency.record(finished - started);
+            scored.addAndGet(job.path("scoredCandidates").asLong());
+            failedFiles.addAndGet(job.path("failedFiles").asLong());
+            if ("FAILED".equals(job.path("status").asText())) {
+                throw new IOException("Job " + jobId + " failed: " + job.path("error").asText());
+            }
+        }
+    }
+
+    private static boolean awaitOutbox(EmailOutboxService outbox, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (outbox.getStats().getPending() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(100);
+        }
+        return true;
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static Map<String, long[]> gcCounters() {
+        Map<String, long[]> counters = new LinkedHashMap<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            counters.put(gc.getName(), new long[] {gc.getCollectionCount(), gc.getCollectionTime()});
+        }
+        return counters;
+    }
+
+    private static Map<String, Double> percentiles(LatencyHistogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("p50", histogram.getPercentile(50) / 1e6);
+        values.put("p95", histogram.getPercentile(95) / 1e6);
+        values.put("p99", histogram.getPercentile(99) / 1e6);
+        values.put("max", histogram.getMax() / 1e6);
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report, Map<PipelineMetrics.Stage, PipelineMetrics.StageStats> stages) {
+        System.out.println();
+        System.out.println("=== Load test results ===");
+        System.out.printf(Locale.ROOT, "LLM profile        %s%n", report.get("llmProfile"));
+        System.out.printf(Locale.ROOT, "Uploads            %d x %d resumes, %d client(s)%n",
+                report.get("uploads"), report.get("resumesPerUpload"), report.get("concurrency"));
+        System.out.printf(Locale.ROOT, "Wall time          %.2f s%n", report.get("wallSeconds"));
+        System.out.printf(Locale.ROOT, "Throughput         %.2f resumes/s%n", report.get("resumesPerSecond"));
+        System.out.printf(Locale.ROOT, "Scored / failed    %d / %d files, %d failed upload(s)%n",
+                report.get("scoredCandidates"), report.get("failedFiles"), report.get("failedUploads"));
+        for (String name : List.of("uploadLatencyMs", "batchLatencyMs")) {
+            Map<String, Double> latency = (Map<String, Double>) report.get(name);
+            System.out.printf(Locale.ROOT, "%-18s p50 %.1f  p95 %.1f  p99 %.1f  max %.1f ms%n",
+                    name.startsWith("upload") ? "Upload latency" : "Batch latency",
+                    latency.get("p50"), latency.get("p95"), latency.get("p99"), latency.get("max"));
+        }
+        System.out.printf(Locale.ROOT, "Gemini stub        %d requests, %d errors, %d throttled%n",
+                report.get("geminiRequests"), report.get("geminiErrors"), report.get("geminiThrottled"));
+        System.out.printf(Locale.ROOT, "Emails             %d sent%s%n", report.get("emailsSent"),
+                Boolean.TRUE.equals(report.get("emailOutboxDrained")) ? "" : " (outbox not drained)");
+        System.out.printf(Locale.ROOT, "Heap (incl. harness) before %s, after %s, peak %s%n",
+                megabytes(report.get("heapBeforeBytes")), megabytes(report.get("heapAfterBytes")),
+                megabytes(report.get("heapPeakBytes")));
+        ((Map<String, Map<String, Long>>) report.get("gc")).forEach((name, gc) ->
+                System.out.printf(Locale.ROOT, "GC %-15s %d collections, %d ms%n",
+                        name, gc.get("collections"), gc.get("timeMs")));
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-8s %8s %10s %9s %9s %9s %9s %9s %12s%n",
+                "stage", "count", "total ms", "mean", "p50", "p95", "p99", "max", "alloc/op");
+        stages.forEach((stage, stats) -> System.out.printf(Locale.ROOT,
+                "%-8s %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12s%n",
+                stage, stats.getCount(), stats.getTotalMs(), stats.getMeanMs(), stats.getP50Ms(),
+                stats.getP95Ms(), stats.getP99Ms(), stats.getMaxMs(),
+                stats.getAllocatedBytesPerOp() < 0 ? "-" : kilobytes(stats.getAllocatedBytesPerOp())));
+    }
+
+    private static String megabytes(Object bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", ((Number) bytes).longValue() / (1024.0 * 1024.0));
+    }
+
+    private static String kilobytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private Long longOption(String name) {
+        return options.containsKey(name) ? Long.valueOf(options.get(name)) : null;
+    }
+
+    private Double doubleOption(String name) {
+        return options.containsKey(name) ? Double.valueOf(options.get(name)) : null;
+    }
+}
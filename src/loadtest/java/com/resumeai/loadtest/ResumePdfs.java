@@ -0,0 +1,97 @@
+package com.resumeai.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Text resumes with a distinct person and wording each, so neither duplicate
+ * detection nor the extraction cache short-circuits the pipeline
+ */
+final class ResumePdfs {
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bruno", "Chen", "Dana", "Emeka", "Freya", "Gustavo", "Hana", "Ivan", "Jasmine",
+            "Kenji", "Leila", "Mateo", "Nadia", "Oren", "Priya", "Rafael", "Sara", "Tariq", "Uma"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Adams", "Baker", "Costa", "Dumont", "Eriksen", "Fontaine", "Gupta", "Horvat", "Ibrahim", "Jovanovic",
+            "Keller", "Lindqvist", "Moreau", "Nakamura", "Okafor", "Petrov", "Ramirez", "Schmidt", "Takahashi", "Varga"
+    };
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "SQL", "Docker", "Kubernetes", "AWS", "React", "Python", "Kafka", "Redis",
+            "PostgreSQL", "TypeScript", "Go", "Terraform", "GraphQL", "Microservices", "CI/CD", "Linux", "Scala", "Git"
+    };
+
+    private static final String[] WORDS = {
+            "designed", "implemented", "led", "migrated", "optimized", "built", "maintained", "delivered",
+            "service", "platform", "pipeline", "customers", "latency", "throughput", "team", "release",
+            "reliability", "dashboard", "integration", "reporting", "scalable", "distributed", "secure",
+            "reduced", "improved", "automated", "infrastructure", "requirements", "stakeholders", "data"
+    };
+
+    private static final int LINES_PER_PAGE = 55;
+
+    private ResumePdfs() {
+    }
+
+    /**
+     * @param index distinct for every resume in a run; determines name and email
+     */
+    static byte[] generate(String runId, int index, int pages, long seed) throws IOException {
+        Random random = new Random(seed * 31 + index);
+        String first = FIRST_NAMES[index % FIRST_NAMES.length];
+        String last = LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length];
+
+        List<String> skills = new ArrayList<>();
+        for (String skill : SKILLS) {
+            if (random.nextInt(3) == 0) {
+                skills.add(skill);
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(first + " " + last);
+        lines.add(first.toLowerCase(Locale.ROOT) + "." + last.toLowerCase(Locale.ROOT) + "." + runId + index
+                + "@example.com | +1 555 010 " + (1000 + index % 9000));
+        lines.add("Skills: " + String.join(", ", skills));
+        lines.add("");
+        lines.add("Experience");
+        while (lines.size() < pages * LINES_PER_PAGE) {
+            StringBuilder line = new StringBuilder("- ");
+            int words = 6 + random.nextInt(8);
+            for (int i = 0; i < words; i++) {
+                line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            lines.add(line.append("(").append(random.nextInt(100_000)).append(")").toString());
+        }
+
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int page = 0; page < pages; page++) {
+                PDPage pdfPage = new PDPage();
+                document.addPage(pdfPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdfPage)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.newLineAtOffset(50, 740);
+                    for (int i = page * LINES_PER_PAGE; i < Math.min(lines.size(), (page + 1) * LINES_PER_PAGE); i++) {
+                        content.showText(lines.get(i));
+                        content.newLineAtOffset(0, -13);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
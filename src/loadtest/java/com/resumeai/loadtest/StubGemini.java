@@ -0,0 +1,200 @@
+package com.resumeai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for the Gemini generateContent endpoint on a MockWebServer. Answers
+ * job-description, single-resume and batched extraction prompts from the prompt
+ * text itself, after a configurable latency, failing a configurable share of
+ * requests with 500 or throttling them with 429 + Retry-After.
+ */
+class StubGemini extends Dispatcher {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    private static final Pattern SKILLS_LINE = Pattern.compile("(?m)^Skills:?\\s*(.+)$");
+    private static final Pattern BATCH_RESUME =
+            Pattern.compile("=== RESUME (\\d+) ===\\n(.*?)\\n=== END RESUME \\1 ===", Pattern.DOTALL);
+
+    private static final String JOB_SKILLS = "Java, Spring Boot, SQL, Docker, Kubernetes, AWS, React, Python";
+
+    private final Profile profile;
+    private final MockWebServer server = new MockWebServer();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    StubGemini(Profile profile) {
+        this.profile = profile;
+        server.setDispatcher(this);
+    }
+
+    void start() throws IOException {
+        server.start();
+    }
+
+    void stop() throws IOException {
+        server.shutdown();
+    }
+
+    String url() {
+        return server.url("/v1beta/models/stub:generateContent").toString();
+    }
+
+    long getRequests() { return requests.get(); }
+    long getErrors() { return errors.get(); }
+    long getThrottled() { return throttled.get(); }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        requests.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = profile.latencyMs + (profile.jitterMs > 0 ? random.nextLong(-profile.jitterMs, profile.jitterMs + 1) : 0);
+        MockResponse response;
+
+        double roll = random.nextDouble();
+        if (roll < profile.throttleRate) {
+            throttled.incrementAndGet();
+            // Rejected quickly, like a quota check
+            return new MockResponse().setResponseCode(429).setHeader("Retry-After", "1")
+                    .setBody("{\"error\":{\"code\":429,\"status\":\"RESOURCE_EXHAUSTED\"}}");
+        } else if (roll < profile.throttleRate + profile.errorRate) {
+            errors.incrementAndGet();
+            response = new MockResponse().setResponseCode(500)
+                    .setBody("{\"error\":{\"code\":500,\"status\":\"INTERNAL\"}}");
+        } else {
+            try {
+                response = new MockResponse().setHeader("Content-Type", "application/json")
+                        .setBody(wrap(reply(promptOf(request))));
+            } catch (IOException e) {
+                response = new MockResponse().setResponseCode(400).setBody(e.getMessage());
+            }
+        }
+        return response.setHeadersDelay(Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    private static String promptOf(RecordedRequest request) throws IOException {
+        JsonNode body = MAPPER.readTree(request.getBody().readUtf8());
+        return body.path("contents").path(0).path("parts").path(0).path("text").asText("");
+    }
+
+    static String reply(String prompt) throws IOException {
+        if (prompt.startsWith("Extract only the list of required skills")) {
+            return JOB_SKILLS;
+        }
+        Matcher batch = BATCH_RESUME.matcher(prompt);
+        if (batch.find()) {
+            ArrayNode results = MAPPER.createArrayNode();
+            do {
+                ObjectNode item = results.addObject();
+                String resume = batch.group(2);
+                item.put("id", Integer.parseInt(batch.group(1)));
+                item.put("name", nameOf(resume));
+                item.put("email", emailOf(resume));
+                ArrayNode skills = item.putArray("skills");
+                for (String skill : skillsOf(resume).split(",")) {
+                    skills.add(skill.trim());
+                }
+            } while (batch.find());
+            return MAPPER.writeValueAsString(results);
+        }
+        int resumeAt = prompt.indexOf("Resume:\n");
+        String resume = resumeAt >= 0 ? prompt.substring(resumeAt + "Resume:\n".length()) : prompt;
+        return "Name: " + nameOf(resume) + "\nEmail: " + emailOf(resume) + "\nSkills: " + skillsOf(resume);
+    }
+
+    private static String nameOf(String resume) {
+        for (String line : resume.split("\n")) {
+            if (!line.isBlank()) {
+                return line.trim();
+            }
+        }
+        return "";
+    }
+
+    private static String emailOf(String resume) {
+        Matcher email = EMAIL.matcher(resume);
+        return email.find() ? email.group() : "";
+    }
+
+    private static String skillsOf(String resume) {
+        Matcher skills = SKILLS_LINE.matcher(resume);
+        return skills.find() ? skills.group(1).trim() : JOB_SKILLS;
+    }
+
+    private static String wrap(String text) throws IOException {
+        ObjectNode body = MAPPER.createObjectNode();
+        body.putArray("candidates").addObject().putObject("content").putArray("parts").addObject().put("text", text);
+        return MAPPER.writeValueAsString(body);
+    }
+
+    /**
+     * Latency and failure behaviour of the stub
+     */
+    static final class Profile {
+        final String name;
+        final long latencyMs;
+        final long jitterMs;
+        final double errorRate;
+        final double throttleRate;
+
+        Profile(String name, long latencyMs, long jitterMs, double errorRate, double throttleRate) {
+            this.name = name;
+            this.latencyMs = latencyMs;
+            this.jitterMs = jitterMs;
+            this.errorRate = errorRate;
+            this.throttleRate = throttleRate;
+        }
+
+        /**
+         * fast: 20 ms; realistic: 800 +/- 400 ms; flaky: realistic with 5% 500s;
+         * throttled: realistic with 20% of requests rejected with 429
+         */
+        static Profile named(String name) {
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "fast":
+                    return new Profile(name, 20, 10, 0.0, 0.0);
+                case "realistic":
+                    return new Profile(name, 800, 400, 0.0, 0.0);
+                case "flaky":
+                    return new Profile(name, 800, 400, 0.05, 0.0);
+                case "throttled":
+                    return new Profile(name, 800, 400, 0.0, 0.2);
+                default:
+                    throw new IllegalArgumentException("Unknown LLM profile: " + name
+                            + " (fast, realistic, flaky, throttled)");
+            }
+        }
+
+        Profile with(Long latencyMs, Long jitterMs, Double errorRate, Double throttleRate) {
+            return new Profile(name,
+                    latencyMs != null ? latencyMs : this.latencyMs,
+                    jitterMs != null ? jitterMs : this.jitterMs,
+                    errorRate != null ? errorRate : this.errorRate,
+                    throttleRate != null ? throttleRate : this.throttleRate);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s (%d +/- %d ms, %.0f%% errors, %.0f%% throttled)",
+                    name, latencyMs, jitterMs, errorRate * 100, throttleRate * 100);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.resumeai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors backing the concurrent resume pipeline
+ */
+@Configuration
+public class PipelineConfig {
+
+    /**
+     * CPU-bound stage: PDFBox text extraction and page rendering for OCR
+     */
+    @Bean(name = "pdfExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService pdfExecutor(@Value("${resume.pipeline.pdf-threads:0}") int pdfThreads) {
+        int threads = pdfThreads > 0 ? pdfThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, namedThreads("pdf-"));
+    }
+
+    /**
+     * Network-bound stage: Gemini calls. The pool size is the parallelism limit
+     * for in-flight LLM requests.
+     */
+    @Bean(name = "llmExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService llmExecutor(@Value("${resume.pipeline.parallelism:8}") int parallelism) {
+        return Executors.newFixedThreadPool(Math.max(1, parallelism), namedThreads("llm-"));
+    }
+
+    /**
+     * Page ranges of long PDFs, stripped concurrently. Separate from the PDF pool,
+     * whose threads wait on these tasks.
+     */
+    @Bean(name = "pdfPageExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService pdfPageExecutor(@Value("${resume.pdf.parallel.threads:0}") int pageThreads) {
+        int threads = pageThreads > 0 ? pageThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, namedThreads("pdf-page-"));
+    }
+
+    /**
+     * Tesseract recognition of rendered pages. Separate from the PDF pool, whose
+     * threads wait on these tasks. Each thread holds one native Tesseract engine.
+     */
+    @Bean(name = "ocrExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService ocrExecutor(@Value("${resume.ocr.threads:0}") int ocrThreads) {
+        int threads = ocrThreads > 0 ? ocrThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return Executors.newFixedThreadPool(threads, namedThreads("ocr-"));
+    }
+
+    /**
+     * Background screening jobs submitted through /upload
+     */
+    @Bean(name = "jobExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor(@Value("${resume.jobs.max-concurrent:2}") int maxConcurrent) {
+        return Executors.newFixedThreadPool(Math.max(1, maxConcurrent), namedThreads("screening-job-"));
+    }
+
+    static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.resumeai.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background tasks such as the email outbox dispatcher
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
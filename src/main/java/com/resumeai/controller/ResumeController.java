@@ -1,10 +1,23 @@
 package com.resumeai.controller;
 
 import com.resumeai.model.Candidate;
+import com.resumeai.model.ScreeningJob;
 import com.resumeai.service.ResumeService;
+import com.resumeai.service.CandidateReadCache;
 import com.resumeai.service.CSVService;
+import com.resumeai.service.EmailOutboxService;
+import com.resumeai.service.ExtractionCacheService;
+import com.resumeai.service.GeminiClient;
+import com.resumeai.service.LocalResumeExtractor;
+import com.resumeai.service.PipelineMetrics;
+import com.resumeai.service.RelevanceService;
+import com.resumeai.service.ResumeDedupService;
+import com.resumeai.service.SkillCatalog;
+import com.resumeai.service.ScreeningJobService;
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -12,13 +25,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Main controller for resume screening application
@@ -29,12 +48,49 @@ public class ResumeController {
 
     private static final Logger logger = LoggerFactory.getLogger(ResumeController.class);
 
+    private static final int RESULTS_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private ResumeService resumeService;
 
+    // Compress CSV downloads for clients that accept gzip
+    @Value("${resume.export.gzip:true}")
+    private boolean gzipExport;
+
     @Autowired
     private CSVService csvService;
 
+    @Autowired
+    private ScreeningJobService screeningJobService;
+
+    @Autowired
+    private ExtractionCacheService extractionCacheService;
+
+    @Autowired
+    private GeminiClient geminiClient;
+
+    @Autowired
+    private LocalResumeExtractor localResumeExtractor;
+
+    @Autowired
+    private SkillCatalog skillCatalog;
+
+    @Autowired
+    private RelevanceService relevanceService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private ResumeDedupService resumeDedupService;
+
+    @Autowired
+    private CandidateReadCache candidateReadCache;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
     /**
      * Display the main upload form
      */
@@ -46,7 +102,8 @@ public class ResumeController {
 
 
     /**
-     * Handle resume upload and processing
+     * Handle resume upload: queue a background screening job and go to the results page,
+     * which follows the job's progress stream
      */
     @PostMapping("/upload")
     public String uploadResumes(
@@ -57,28 +114,17 @@ public class ResumeController {
         logger.info("Received upload request with {} resume files", resumeFiles.length);
 
         try {
-            // Validate input
-            if (jobDescription == null || jobDescription.trim().isEmpty()) {
-                redirectAttributes.addFlashAttribute("error", "Job description is required");
-                return "redirect:/";
-            }
-
-            if (resumeFiles.length == 0 || (resumeFiles.length == 1 && resumeFiles[0].isEmpty())) {
-                redirectAttributes.addFlashAttribute("error", "At least one resume file is required");
+            String validationError = validateUpload(jobDescription, resumeFiles);
+            if (validationError != null) {
+                redirectAttributes.addFlashAttribute("error", validationError);
                 return "redirect:/";
             }
 
-            // Process resumes
-            List<Candidate> candidates = resumeService.processResumes(jobDescription, resumeFiles);
-
-            if (candidates.isEmpty()) {
-                redirectAttributes.addFlashAttribute("warning",
-                        "No candidates could be processed. Please check if the PDF files are valid and contain readable text.");
-                return "redirect:/";
-            }
+            ScreeningJob job = screeningJobService.submit(jobDescription, resumeFiles);
 
             redirectAttributes.addFlashAttribute("success",
-                    String.format("Successfully processed %d resumes", candidates.size()));
+                    String.format("Screening %d resumes. Results will appear as they are scored.", job.getTotalFiles()));
+            redirectAttributes.addAttribute("jobId", job.getId());
 
             return "redirect:/results";
 
@@ -90,19 +136,160 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Queue a screening job (REST endpoint). Returns the job immediately with 202 Accepted.
+     */
+    @PostMapping("/api/jobs")
+    @ResponseBody
+    public ResponseEntity<?> submitJob(
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam("resumeFiles") MultipartFile[] resumeFiles) {
+        String validationError = validateUpload(jobDescription, resumeFiles);
+        if (validationError != null) {
+            return ResponseEntity.badRequest().body(validationError);
+        }
+        try {
+            ScreeningJob job = screeningJobService.submit(jobDescription, resumeFiles);
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, "/api/jobs/" + job.getId())
+                    .body(job);
+        } catch (Exception e) {
+            logger.error("Error queueing screening job", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Screening job status (REST endpoint)
+     */
+    @GetMapping("/api/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<ScreeningJob> getJobStatus(@PathVariable String jobId) {
+        return screeningJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Server-Sent Events stream of a job: "candidate" per scored resume, "progress" and "complete"
+     */
+    @GetMapping(value = "/api/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> streamJobEvents(@PathVariable String jobId) {
+        SseEmitter emitter = screeningJobService.subscribe(jobId);
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Queue a screening job for a ZIP archive of PDF resumes sent as the raw request
+     * body (REST endpoint). The archive is read and screened while it uploads, so the
+     * response only arrives once the upload ends; use /api/jobs/archive/new and
+     * PUT /api/jobs/{jobId}/archive to learn the job id first.
+     * Example: curl -H 'Content-Type: application/zip' --data-binary @resumes.zip
+     *          '/api/jobs/archive?jobDescription=...'
+     */
+    @PostMapping(value = "/api/jobs/archive",
+            consumes = {"application/zip", "application/x-zip-compressed", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @ResponseBody
+    public ResponseEntity<?> submitArchiveJob(@RequestParam("jobDescription") String jobDescription,
+                                              HttpServletRequest request) {
+        if (jobDescription.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body("Job description is required");
+        }
+        try {
+            return archiveReceived(screeningJobService.submitArchive(jobDescription, request.getInputStream()));
+        } catch (ScreeningJobService.ArchiveRejectedException e) {
+            return archiveRejected(e);
+        } catch (Exception e) {
+            logger.error("Error queueing archive screening job", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Create a screening job for an archive to be sent to PUT /api/jobs/{jobId}/archive.
+     * Subscribe to /api/jobs/{jobId}/events before or while uploading.
+     */
+    @PostMapping("/api/jobs/archive/new")
+    @ResponseBody
+    public ResponseEntity<?> createArchiveJob(@RequestParam("jobDescription") String jobDescription) {
+        if (jobDescription.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body("Job description is required");
+        }
+        ScreeningJob job = screeningJobService.createArchiveJob(jobDescription);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(HttpHeaders.LOCATION, "/api/jobs/" + job.getId())
+                .body(job);
+    }
+
+    /**
+     * Stream the ZIP archive of a job created with /api/jobs/archive/new
+     * Example: curl -X PUT -H 'Content-Type: application/zip' --data-binary @resumes.zip
+     *          '/api/jobs/{jobId}/archive'
+     */
+    @PutMapping(value = "/api/jobs/{jobId}/archive",
+            consumes = {"application/zip", "application/x-zip-compressed", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @ResponseBody
+    public ResponseEntity<?> uploadArchive(@PathVariable String jobId, HttpServletRequest request) {
+        try {
+            ScreeningJob job = screeningJobService.receiveArchive(jobId, request.getInputStream());
+            return job == null ? ResponseEntity.notFound().build() : archiveReceived(job);
+        } catch (ScreeningJobService.ArchiveRejectedException e) {
+            return archiveRejected(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error receiving archive for screening job {}", jobId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private static ResponseEntity<?> archiveReceived(ScreeningJob job) {
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/jobs/" + job.getId())
+                .body(job);
+    }
+
+    /**
+     * 400 that still names the job: entries submitted before the limit was hit keep being screened
+     */
+    private static ResponseEntity<?> archiveRejected(ScreeningJobService.ArchiveRejectedException e) {
+        return ResponseEntity.badRequest()
+                .header(HttpHeaders.LOCATION, "/api/jobs/" + e.getJob().getId())
+                .body(Map.of("jobId", e.getJob().getId(), "error", e.getMessage()));
+    }
+
+    private String validateUpload(String jobDescription, MultipartFile[] resumeFiles) {
+        if (jobDescription == null || jobDescription.trim().isEmpty()) {
+            return "Job description is required";
+        }
+        if (resumeFiles.length == 0 || (resumeFiles.length == 1 && resumeFiles[0].isEmpty())) {
+            return "At least one resume file is required";
+        }
+        return null;
+    }
+
     /**
      * Display results page with candidate rankings
      */
     @GetMapping("/results")
-    public String showResults(Model model) {
+    public String showResults(@RequestParam(value = "jobId", required = false) String jobId, Model model) {
         try {
-            List<Candidate> candidates = resumeService.getAllCandidatesRanked();
+            // First page only; the page fetches the rest from /api/candidates as the user scrolls
+            ResumeService.CandidatePage page = resumeService.getCandidatePage(null, null, RESULTS_PAGE_SIZE);
+            List<Candidate> candidates = page.getCandidates();
             ResumeService.CandidateStats stats = resumeService.getCandidateStats();
 
             model.addAttribute("candidates", candidates);
+            model.addAttribute("page", page);
             model.addAttribute("stats", stats);
+            screeningJobService.getJob(jobId == null ? "" : jobId)
+                    .ifPresent(job -> model.addAttribute("job", job));
 
-            if (candidates.isEmpty()) {
+            if (candidates.isEmpty() && !model.containsAttribute("job")) {
                 model.addAttribute("message", "No candidates found. Please upload some resumes first.");
             }
 
@@ -119,29 +306,46 @@ public class ResumeController {
      * Download candidate rankings as CSV
      */
     @GetMapping("/download-csv")
-    public ResponseEntity<byte[]> downloadCSV() {
+    public ResponseEntity<StreamingResponseBody> downloadCSV(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<Candidate> candidates = resumeService.getAllCandidatesRanked();
+            ResumeService.CandidateStats stats = resumeService.getCandidateStats();
 
-            if (candidates.isEmpty()) {
+            if (stats.getTotalCandidates() == 0) {
                 return ResponseEntity.badRequest().build();
             }
 
-            ResumeService.CandidateStats stats = resumeService.getCandidateStats();
-            String csvContent = csvService.generateCandidateCSVWithStats(candidates, stats);
             String filename = csvService.generateCSVFilename();
+            boolean gzip = gzipExport && acceptEncoding != null && acceptEncoding.contains("gzip");
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
             headers.setContentDispositionFormData("attachment", filename);
+            if (gzip) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
 
-            logger.info("CSV download requested. Generated file: {}", filename);
-
-            return new ResponseEntity<>(
-                    csvContent.getBytes(StandardCharsets.UTF_8),
-                    headers,
-                    HttpStatus.OK
-            );
+            logger.info("CSV download requested. Streaming file: {}", filename);
+
+            // Rows go straight from the database cursor to the response
+            StreamingResponseBody body = out -> {
+                OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+                Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 8192);
+                long[] rows = new long[1];
+                resumeService.exportCandidatesRanked(candidates -> {
+                    try {
+                        rows[0] = csvService.writeCandidateCSVWithStats(writer, candidates, stats);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+                if (gzip) {
+                    ((GZIPOutputStream) target).finish();
+                }
+                logger.info("CSV download {} completed: {} candidates", filename, rows[0]);
+            };
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
 
         } catch (Exception e) {
             logger.error("Error generating CSV download", e);
@@ -169,12 +373,12 @@ public class ResumeController {
      */
     @GetMapping("/api/candidate/{id}")
     @ResponseBody
-    public ResponseEntity<Candidate> getCandidateDetails(@PathVariable Long id) {
+    public ResponseEntity<Candidate> getCandidateDetails(@PathVariable Long id, WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
         try {
-            return resumeService.getAllCandidatesRanked()
-                    .stream()
-                    .filter(c -> c.getId().equals(id))
-                    .findFirst()
+            return resumeService.getCandidate(id)
                     .map(candidate -> ResponseEntity.ok(candidate))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -183,12 +387,40 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Candidates in ranking order, one keyset page at a time (REST endpoint). Pass the
+     * nextAfterScore/nextAfterId of a page to get the one after it.
+     */
+    @GetMapping("/api/candidates")
+    @ResponseBody
+    public ResponseEntity<ResumeService.CandidatePage> getCandidates(
+            @RequestParam(value = "afterScore", required = false) Double afterScore,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            WebRequest request) {
+        if (size < 1 || (afterScore == null) != (afterId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (notModified(request)) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok(resumeService.getCandidatePage(afterScore, afterId, Math.min(size, MAX_PAGE_SIZE)));
+        } catch (Exception e) {
+            logger.error("Error fetching candidate page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get application statistics (REST endpoint)
      */
     @GetMapping("/api/stats")
     @ResponseBody
-    public ResponseEntity<ResumeService.CandidateStats> getStats() {
+    public ResponseEntity<ResumeService.CandidateStats> getStats(WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
         try {
             ResumeService.CandidateStats stats = resumeService.getCandidateStats();
             return ResponseEntity.ok(stats);
@@ -198,6 +430,96 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Rank every processed resume against a job description by BM25 relevance (REST endpoint)
+     */
+    @PostMapping("/api/rank")
+    @ResponseBody
+    public ResponseEntity<List<RelevanceService.RankedCandidate>> rankCandidates(
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (jobDescription.trim().isEmpty() || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(relevanceService.rank(jobDescription, Math.min(limit, 1000)));
+        } catch (Exception e) {
+            logger.error("Error ranking candidates", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Gemini extraction cache hit/miss counters (REST endpoint)
+     */
+    @GetMapping("/api/cache/stats")
+    @ResponseBody
+    public ResponseEntity<ExtractionCacheService.CacheStats> getCacheStats() {
+        return ResponseEntity.ok(extractionCacheService.getStats());
+    }
+
+    /**
+     * Share of resumes resolved by the local extraction tier without Gemini (REST endpoint)
+     */
+    @GetMapping("/api/extraction/stats")
+    @ResponseBody
+    public ResponseEntity<LocalResumeExtractor.ExtractionStats> getExtractionStats() {
+        return ResponseEntity.ok(localResumeExtractor.getStats());
+    }
+
+    /**
+     * Gemini client call/retry/throttle counters and current concurrency limit (REST endpoint)
+     */
+    @GetMapping("/api/llm/stats")
+    @ResponseBody
+    public ResponseEntity<GeminiClient.ClientStats> getLlmStats() {
+        return ResponseEntity.ok(geminiClient.getStats());
+    }
+
+    /**
+     * Pending/sent/failed counts of the email outbox (REST endpoint)
+     */
+    @GetMapping("/api/email/stats")
+    @ResponseBody
+    public ResponseEntity<EmailOutboxService.OutboxStats> getEmailStats() {
+        return ResponseEntity.ok(emailOutboxService.getStats());
+    }
+
+    /**
+     * Fingerprint count and duplicate hits (REST endpoint)
+     */
+    @GetMapping("/api/dedup/stats")
+    @ResponseBody
+    public ResponseEntity<ResumeDedupService.DedupStats> getDedupStats() {
+        return ResponseEntity.ok(resumeDedupService.getStats());
+    }
+
+    /**
+     * Latency percentiles and allocation per pipeline stage since startup (REST endpoint)
+     */
+    @GetMapping("/api/pipeline/metrics")
+    @ResponseBody
+    public ResponseEntity<Map<PipelineMetrics.Stage, PipelineMetrics.StageStats>> getPipelineMetrics() {
+        return ResponseEntity.ok(pipelineMetrics.getStats());
+    }
+
+    /**
+     * Reload the skill catalog from disk (REST endpoint)
+     */
+    @PostMapping("/api/skills/reload")
+    @ResponseBody
+    public ResponseEntity<String> reloadSkillCatalog() {
+        try {
+            SkillCatalog.Snapshot snapshot = skillCatalog.reload();
+            return ResponseEntity.ok(String.format("Loaded %d skills and %d aliases",
+                    snapshot.getCanonicalCount(), snapshot.getAliasCount()));
+        } catch (Exception e) {
+            logger.error("Error reloading skill catalog", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error reloading skill catalog: " + e.getMessage());
+        }
+    }
+
     /**
      * Health check endpoint
      */
@@ -210,4 +532,13 @@ public class ResumeController {
     public void init() {
         System.out.println("✅ ResumeController bean loaded successfully.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Conditional GET against the candidate data version: sets ETag/Last-Modified and
+     * answers 304 Not Modified when the client's copy is current
+     */
+    private boolean notModified(WebRequest request) {
+        // Read before the data is loaded, so a concurrent change can only make the tag older
+        return request.checkNotModified(candidateReadCache.getETag(), candidateReadCache.getLastModified());
+    }
+}
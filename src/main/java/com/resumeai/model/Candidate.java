@@ -2,16 +2,22 @@ package com.resumeai.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * Entity representing a candidate's resume screening results
  */
 @Entity
-@Table(name = "candidates")
+@Table(name = "candidates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_candidates_email_key", columnNames = "emailKey"),
+        // Serves the ranking order and keyset pagination (see CandidateRepository#findRankedAfter)
+        indexes = @Index(name = "idx_candidates_rank", columnList = "matchScore DESC, id"))
 public class Candidate {
 
+    // Pooled sequence: ids are handed out 50 at a time, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidates_seq")
+    @SequenceGenerator(name = "candidates_seq", sequenceName = "candidates_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -20,6 +26,10 @@ public class Candidate {
     @Column(nullable = false)
     private String email;
 
+    // Normalized email; one row per candidate
+    @Column(nullable = false)
+    private String emailKey;
+
     @Column(columnDefinition = "TEXT")
     private String skills;
 
@@ -43,7 +53,7 @@ public class Candidate {
     // Constructor with essential fields
     public Candidate(String name, String email, String skills, String matchedSkills, Double matchScore) {
         this.name = name;
-        this.email = email;
+        setEmail(email);
         this.skills = skills;
         this.matchedSkills = matchedSkills;
         this.matchScore = matchScore;
@@ -74,6 +84,18 @@ public class Candidate {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailKey = normalizeEmail(email);
+    }
+
+    public String getEmailKey() {
+        return emailKey;
+    }
+
+    /**
+     * Lookup key for an email address: trimmed and lower case
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 
     public String getSkills() {
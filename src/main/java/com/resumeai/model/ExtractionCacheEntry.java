@@ -0,0 +1,84 @@
+package com.resumeai.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted Gemini extraction result, keyed by a hash of the cleaned resume text
+ * and the extraction prompt version
+ */
+@Entity
+@Table(name = "extraction_cache")
+public class ExtractionCacheEntry {
+
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String email;
+
+    // One skill per line
+    @Column(columnDefinition = "TEXT")
+    private String skills;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public ExtractionCacheEntry() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public ExtractionCacheEntry(String cacheKey, String name, String email, String skills) {
+        this.cacheKey = cacheKey;
+        this.name = name;
+        this.email = email;
+        this.skills = skills;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getSkills() {
+        return skills;
+    }
+
+    public void setSkills(String skills) {
+        this.skills = skills;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,122 @@
+package com.resumeai.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A processed resume: SHA-256 of the uploaded bytes, MinHash signature of its
+ * cleaned text, and the extraction result so duplicates can skip parsing and Gemini
+ */
+@Entity
+@Table(name = "resume_fingerprints")
+public class ResumeFingerprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resume_fingerprints_seq")
+    @SequenceGenerator(name = "resume_fingerprints_seq", sequenceName = "resume_fingerprints_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    // 32-bit MinHash values, big-endian
+    @Column(nullable = false, length = 1024)
+    private byte[] signature;
+
+    @Column(columnDefinition = "TEXT")
+    private String resumeText;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String email;
+
+    // One skill per line
+    @Column(columnDefinition = "TEXT")
+    private String skills;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public ResumeFingerprint() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public ResumeFingerprint(String contentHash, byte[] signature, String resumeText,
+                             String name, String email, String skills) {
+        this();
+        this.contentHash = contentHash;
+        this.signature = signature;
+        this.resumeText = resumeText;
+        this.name = name;
+        this.email = email;
+        this.skills = skills;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getSignature() {
+        return signature;
+    }
+
+    public void setSignature(byte[] signature) {
+        this.signature = signature;
+    }
+
+    public String getResumeText() {
+        return resumeText;
+    }
+
+    public void setResumeText(String resumeText) {
+        this.resumeText = resumeText;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getSkills() {
+        return skills;
+    }
+
+    public void setSkills(String skills) {
+        this.skills = skills;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,71 @@
+package com.resumeai.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory state of a background screening batch
+ */
+public class ScreeningJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    // Grows while an archive upload is still being read
+    private final AtomicInteger totalFiles;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicInteger processedFiles = new AtomicInteger();
+    private final AtomicInteger failedFiles = new AtomicInteger();
+    private final List<Candidate> candidates = new CopyOnWriteArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ScreeningJob(String id, int totalFiles) {
+        this.id = id;
+        this.totalFiles = new AtomicInteger(totalFiles);
+    }
+
+    public void fileAdded() {
+        totalFiles.incrementAndGet();
+    }
+
+    public void candidateScored(Candidate candidate) {
+        candidates.add(candidate);
+        processedFiles.incrementAndGet();
+    }
+
+    public void fileFailed() {
+        failedFiles.incrementAndGet();
+        processedFiles.incrementAndGet();
+    }
+
+    public void finish(Status status, String error) {
+        this.status = status;
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getId() { return id; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public int getTotalFiles() { return totalFiles.get(); }
+    public int getProcessedFiles() { return processedFiles.get(); }
+    public int getScoredCandidates() { return candidates.size(); }
+    public int getFailedFiles() { return failedFiles.get(); }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public String getError() { return error; }
+
+    @JsonIgnore
+    public List<Candidate> getCandidates() { return candidates; }
+}
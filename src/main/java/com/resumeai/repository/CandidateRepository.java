@@ -2,10 +2,20 @@ package com.resumeai.repository;
 
 
 import com.resumeai.model.Candidate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Candidate entity
@@ -14,11 +24,32 @@ import java.util.List;
 public interface CandidateRepository extends JpaRepository<Candidate, Long> {
 
     /**
-     * Find all candidates ordered by match score in descending order
+     * First page of the ranking: match score descending, ties by id
+     * @param page page size (offset is ignored by callers, always 0)
+     * @return List of candidates sorted by score
+     */
+    @Query("SELECT c FROM Candidate c ORDER BY c.matchScore DESC, c.id ASC")
+    List<Candidate> findRanked(Pageable page);
+
+    /**
+     * Next page of the ranking after the last row of the previous page (keyset pagination)
+     * @param score match score of the last row seen
+     * @param id id of the last row seen
+     * @param page page size
      * @return List of candidates sorted by score
      */
-    @Query("SELECT c FROM Candidate c ORDER BY c.matchScore DESC")
-    List<Candidate> findAllByOrderByMatchScoreDesc();
+    @Query("SELECT c FROM Candidate c WHERE c.matchScore < :score OR (c.matchScore = :score AND c.id > :id) " +
+            "ORDER BY c.matchScore DESC, c.id ASC")
+    List<Candidate> findRankedAfter(@Param("score") Double score, @Param("id") Long id, Pageable page);
+
+    /**
+     * Every candidate in ranking order as a database cursor; must be consumed (and
+     * closed) inside a transaction
+     * @return Stream of candidates sorted by score
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Candidate c ORDER BY c.matchScore DESC, c.id ASC")
+    Stream<Candidate> streamRanked();
 
     /**
      * Find candidates with score >= threshold
@@ -33,4 +64,39 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
      * @return List of candidates pending email notification
      */
     List<Candidate> findByEmailSentFalse();
-}
\ No newline at end of file
+
+    /**
+     * Find candidates by normalized email
+     * @param emailKeys see {@link Candidate#normalizeEmail(String)}
+     * @return the candidates already screened
+     */
+    List<Candidate> findByEmailKeyIn(Collection<String> emailKeys);
+
+    /**
+     * Flag candidates as notified in one statement
+     * @param ids candidate ids
+     * @return number of candidates that were not flagged before
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Candidate c SET c.emailSent = true WHERE c.id IN :ids AND c.emailSent = false")
+    int markEmailSent(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Count, qualified count, emails sent and average score in one aggregate query
+     * @param threshold minimum score for a candidate to count as qualified
+     * @return a single row
+     */
+    @Query("SELECT COUNT(c), SUM(CASE WHEN c.matchScore >= :threshold THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.emailSent = true THEN 1 ELSE 0 END), AVG(c.matchScore) FROM Candidate c")
+    List<Object[]> aggregateStats(@Param("threshold") Double threshold);
+
+    /**
+     * Candidates per whole-percent score bucket
+     * @return rows of (bucket, count, score sum)
+     */
+    @Query("SELECT FLOOR(c.matchScore), COUNT(c), SUM(c.matchScore) FROM Candidate c GROUP BY FLOOR(c.matchScore)")
+    List<Object[]> scoreHistogram();
+
+    long countByEmailSentTrue();
+}
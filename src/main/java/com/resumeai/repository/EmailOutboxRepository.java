@@ -0,0 +1,37 @@
+package com.resumeai.repository;
+
+import com.resumeai.model.EmailOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the email outbox
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntry, Long> {
+
+    /**
+     * Messages in the given status whose next attempt is due, oldest first
+     */
+    @Query("SELECT e FROM EmailOutboxEntry e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<EmailOutboxEntry> findDue(@Param("status") EmailOutboxEntry.Status status, @Param("now") LocalDateTime now,
+                                   Pageable page);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxEntry e SET e.status = :status, e.attempts = e.attempts + 1, e.sentAt = :sentAt, "
+            + "e.lastError = null WHERE e.id IN :ids")
+    int updateSent(@Param("ids") Collection<Long> ids, @Param("status") EmailOutboxEntry.Status status,
+                   @Param("sentAt") LocalDateTime sentAt);
+
+    long countByStatus(EmailOutboxEntry.Status status);
+}
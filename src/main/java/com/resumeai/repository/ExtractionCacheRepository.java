@@ -0,0 +1,12 @@
+package com.resumeai.repository;
+
+import com.resumeai.model.ExtractionCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for persisted Gemini extraction results
+ */
+@Repository
+public interface ExtractionCacheRepository extends JpaRepository<ExtractionCacheEntry, String> {
+}
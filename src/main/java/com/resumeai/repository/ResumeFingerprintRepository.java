@@ -0,0 +1,24 @@
+package com.resumeai.repository;
+
+import com.resumeai.model.ResumeFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for resume fingerprints used in duplicate detection
+ */
+@Repository
+public interface ResumeFingerprintRepository extends JpaRepository<ResumeFingerprint, Long> {
+
+    Optional<ResumeFingerprint> findByContentHash(String contentHash);
+
+    /**
+     * Id, content hash and signature of every fingerprint, for rebuilding the in-memory index
+     */
+    @Query("SELECT f.id, f.contentHash, f.signature FROM ResumeFingerprint f")
+    List<Object[]> findAllSignatures();
+}
@@ -6,9 +6,12 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service class for CSV export functionality
@@ -18,6 +21,19 @@ public class CSVService {
 
     private static final Logger logger = LoggerFactory.getLogger(CSVService.class);
 
+    private static final String[] HEADER = {
+            "Rank",
+            "Name",
+            "Email",
+            "Match Score (%)",
+            "Skills",
+            "Matched Skills",
+            "Email Sent",
+            "Processed Date"
+    };
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     /**
      * Generate CSV content from candidate list
      * @param candidates list of candidates to export
@@ -29,49 +45,15 @@ public class CSVService {
         StringWriter stringWriter = new StringWriter();
 
         try (CSVWriter csvWriter = new CSVWriter(stringWriter)) {
-
-            // Write CSV header
-            String[] header = {
-                    "Rank",
-                    "Name",
-                    "Email",
-                    "Match Score (%)",
-                    "Skills",
-                    "Matched Skills",
-                    "Email Sent",
-                    "Processed Date"
-            };
-            csvWriter.writeNext(header);
-
-            // Write candidate data
-            int rank = 1;
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-            for (Candidate candidate : candidates) {
-                String[] row = {
-                        String.valueOf(rank++),
-                        candidate.getName() != null ? candidate.getName() : "",
-                        candidate.getEmail() != null ? candidate.getEmail() : "",
-                        String.format("%.1f", candidate.getMatchScore()),
-                        candidate.getSkills() != null ? candidate.getSkills() : "",
-                        candidate.getMatchedSkills() != null ? candidate.getMatchedSkills() : "",
-                        candidate.getEmailSent() ? "Yes" : "No",
-                        candidate.getProcessedAt().format(dateFormatter)
-                };
-                csvWriter.writeNext(row);
-            }
-
-            csvWriter.flush();
-
+            csvWriter.writeNext(HEADER);
+            writeRows(csvWriter, candidates.stream());
         } catch (Exception e) {
             logger.error("Error generating CSV", e);
             throw new RuntimeException("Failed to generate CSV: " + e.getMessage());
         }
 
-        String csvContent = stringWriter.toString();
         logger.info("CSV generation completed. Generated {} lines", candidates.size() + 1);
-
-        return csvContent;
+        return stringWriter.toString();
     }
 
     /**
@@ -85,68 +67,62 @@ public class CSVService {
     }
 
     /**
-     * Generate CSV content with statistics summary
-     * @param candidates list of candidates
+     * Write the statistics summary followed by one row per candidate, as the
+     * candidates are read from the stream. Nothing is buffered beyond the writer.
+     * @param out destination; flushed but not closed
+     * @param candidates candidates in ranking order
      * @param stats candidate statistics
-     * @return CSV content with summary
+     * @return number of candidate rows written
      */
-    public String generateCandidateCSVWithStats(List<Candidate> candidates, ResumeService.CandidateStats stats) {
-        logger.info("Generating CSV with statistics for {} candidates", candidates.size());
-
-        StringWriter stringWriter = new StringWriter();
-
-        try (CSVWriter csvWriter = new CSVWriter(stringWriter)) {
-
-            // Write summary statistics first
-            csvWriter.writeNext(new String[]{"RESUME SCREENING SUMMARY"});
-            csvWriter.writeNext(new String[]{"Total Candidates", String.valueOf(stats.getTotalCandidates())});
-            csvWriter.writeNext(new String[]{"Qualified Candidates (≥60%)", String.valueOf(stats.getQualifiedCandidates())});
-            csvWriter.writeNext(new String[]{"Emails Sent", String.valueOf(stats.getEmailsSent())});
-            csvWriter.writeNext(new String[]{"Average Score", String.format("%.1f%%", stats.getAverageScore())});
-            csvWriter.writeNext(new String[]{"Generated On", java.time.LocalDateTime.now().toString()});
-            csvWriter.writeNext(new String[]{""}); // Empty row for separation
-
-            // Write candidate data header
-            String[] header = {
-                    "Rank",
-                    "Name",
-                    "Email",
-                    "Match Score (%)",
-                    "Skills",
-                    "Matched Skills",
-                    "Email Sent",
-                    "Processed Date"
-            };
-            csvWriter.writeNext(header);
-
-            // Write candidate data
-            int rank = 1;
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-            for (Candidate candidate : candidates) {
-                String[] row = {
-                        String.valueOf(rank++),
-                        candidate.getName() != null ? candidate.getName() : "",
-                        candidate.getEmail() != null ? candidate.getEmail() : "",
-                        String.format("%.1f", candidate.getMatchScore()),
-                        candidate.getSkills() != null ? candidate.getSkills() : "",
-                        candidate.getMatchedSkills() != null ? candidate.getMatchedSkills() : "",
-                        candidate.getEmailSent() ? "Yes" : "No",
-                        candidate.getProcessedAt().format(dateFormatter)
-                };
-                csvWriter.writeNext(row);
-            }
-
-            csvWriter.flush();
-
-        } catch (Exception e) {
-            logger.error("Error generating CSV with stats", e);
-            throw new RuntimeException("Failed to generate CSV with stats: " + e.getMessage());
+    public long writeCandidateCSVWithStats(Writer out, Stream<Candidate> candidates,
+                                           ResumeService.CandidateStats stats) throws IOException {
+        CSVWriter csvWriter = new CSVWriter(out);
+
+        // Write summary statistics first
+        csvWriter.writeNext(new String[]{"RESUME SCREENING SUMMARY"});
+        csvWriter.writeNext(new String[]{"Total Candidates", String.valueOf(stats.getTotalCandidates())});
+        csvWriter.writeNext(new String[]{"Qualified Candidates (≥60%)", String.valueOf(stats.getQualifiedCandidates())});
+        csvWriter.writeNext(new String[]{"Emails Sent", String.valueOf(stats.getEmailsSent())});
+        csvWriter.writeNext(new String[]{"Average Score", formatScore(stats.getAverageScore()) + "%"});
+        csvWriter.writeNext(new String[]{"Generated On", java.time.LocalDateTime.now().toString()});
+        csvWriter.writeNext(new String[]{""}); // Empty row for separation
+
+        csvWriter.writeNext(HEADER);
+        long rows = writeRows(csvWriter, candidates);
+        csvWriter.flush();
+        if (csvWriter.checkError()) {
+            throw new IOException("Failed to write CSV export");
         }
+        return rows;
+    }
 
-        String csvContent = stringWriter.toString();
-        logger.info("CSV with stats generation completed");
+    private long writeRows(CSVWriter csvWriter, Stream<Candidate> candidates) {
+        // Reused for every row; CSVWriter writes the values out before returning
+        String[] row = new String[HEADER.length];
+        long[] rank = {0};
+        candidates.forEachOrdered(candidate -> {
+            row[0] = Long.toString(++rank[0]);
+            row[1] = candidate.getName() != null ? candidate.getName() : "";
+            row[2] = candidate.getEmail() != null ? candidate.getEmail() : "";
+            row[3] = formatScore(candidate.getMatchScore());
+            row[4] = candidate.getSkills() != null ? candidate.getSkills() : "";
+            row[5] = candidate.getMatchedSkills() != null ? candidate.getMatchedSkills() : "";
+            row[6] = candidate.getEmailSent() ? "Yes" : "No";
+            row[7] = DATE_FORMATTER.format(candidate.getProcessedAt());
+            csvWriter.writeNext(row);
+        });
+        return rank[0];
+    }
 
-        return csvContent;
+    /**
+     * One decimal place, rounded half up, like "%.1f" without the formatter overhead
+     */
+    static String formatScore(double score) {
+        long tenths = Math.round(Math.abs(score) * 10);
+        StringBuilder out = new StringBuilder(8);
+        if (score < 0 && tenths != 0) {
+            out.append('-');
+        }
+        return out.append(tenths / 10).append('.').append(tenths % 10).toString();
     }
-}
\ No newline at end of file
+}
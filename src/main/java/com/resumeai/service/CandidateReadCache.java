@@ -0,0 +1,99 @@
+package com.resumeai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for candidate lookups, ranked pages and stats, keyed on a data
+ * version that every change to the candidates table bumps. The version (and the
+ * time of the last change) also serves as ETag/Last-Modified for the candidate APIs;
+ * versions restart on every boot, so the ETag also carries a random instance id.
+ */
+@Service
+public class CandidateReadCache {
+
+    @Value("${resume.cache.candidates.enabled:true}")
+    private boolean enabled;
+
+    @Value("${resume.cache.candidates.max-entries:1000}")
+    private int maxEntries;
+
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile long lastModified = System.currentTimeMillis();
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Cached value for the key at the current data version, loading it on a miss.
+     * Null results are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        long current = version.get();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == current) {
+                return (T) entry.value;
+            }
+        }
+        T value = loader.get();
+        if (value != null) {
+            synchronized (entries) {
+                // A change during the load leaves this entry stale, so it is never served
+                entries.put(key, new Entry(current, value));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Record a change to candidate data
+     */
+    public void invalidate() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Strong ETag for responses derived from candidate data, never repeated by a later boot
+     */
+    public String getETag() {
+        return "\"" + instanceId + "-v" + version.get() + "\"";
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final Object value;
+
+        Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
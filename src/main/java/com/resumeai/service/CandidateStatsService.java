@@ -0,0 +1,204 @@
+package com.resumeai.service;
+
+import com.resumeai.repository.CandidateRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory summary of the candidates table: counters plus a histogram of match
+ * scores in whole-percent buckets, so stats and the number of candidates above any
+ * threshold are answered without touching the database. Kept current by the code
+ * paths that write candidates, which bracket their database change with
+ * {@link #beginWrite()} / {@link #endWrite()}, and periodically reconciled against
+ * the table to correct drift from writes made elsewhere. A reconcile whose read
+ * overlapped a tracked write is discarded, since its snapshot may or may not
+ * include that write.
+ */
+@Service
+public class CandidateStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandidateStatsService.class);
+
+    // Scores are 0-100; bucket i holds scores in [i, i + 1), bucket 100 holds 100
+    private static final int BUCKETS = 101;
+
+    // Reads retried when writes keep overlapping before waiting for the next interval
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private CandidateReadCache readCache;
+
+    // false = run the aggregate query on every stats request
+    @Value("${resume.stats.incremental:true}")
+    private boolean incremental;
+
+    private final long[] histogram = new long[BUCKETS];
+    private long total;
+    private long emailsSent;
+    private double scoreSum;
+    // Tracked writes in progress, and writes started since boot
+    private int writesInProgress;
+    private long writesStarted;
+
+    @PostConstruct
+    public void init() {
+        if (incremental) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Call before changing the candidates table, and {@link #endWrite()} once the
+     * change is committed (or failed) and reported here
+     */
+    public synchronized void beginWrite() {
+        writesInProgress++;
+        writesStarted++;
+    }
+
+    public synchronized void endWrite() {
+        writesInProgress--;
+    }
+
+    /**
+     * Record a saved candidate
+     * @param previousScore score before the save, null for a new candidate
+     * @param previousEmailSent emailSent before the save (ignored for a new candidate)
+     */
+    public synchronized void onSaved(Double previousScore, boolean previousEmailSent, double score, boolean emailSent) {
+        if (previousScore != null) {
+            histogram[bucket(previousScore)]--;
+            scoreSum -= previousScore;
+            if (previousEmailSent) {
+                emailsSent--;
+            }
+            total--;
+        }
+        histogram[bucket(score)]++;
+        scoreSum += score;
+        if (emailSent) {
+            emailsSent++;
+        }
+        total++;
+    }
+
+    public synchronized void onEmailsSent(int count) {
+        emailsSent += count;
+    }
+
+    public synchronized void onCleared() {
+        Arrays.fill(histogram, 0);
+        total = 0;
+        emailsSent = 0;
+        scoreSum = 0.0;
+    }
+
+    /**
+     * Stats with qualified = candidates scoring at least the threshold (exact for
+     * whole-number thresholds)
+     */
+    public ResumeService.CandidateStats getStats(double threshold) {
+        if (!incremental) {
+            return queryStats(threshold);
+        }
+        synchronized (this) {
+            return new ResumeService.CandidateStats(total, countAtLeast(threshold), emailsSent,
+                    total == 0 ? 0.0 : scoreSum / total);
+        }
+    }
+
+    /**
+     * Rebuild the summary from the table
+     */
+    @Scheduled(initialDelayString = "${resume.stats.reconcile-interval-ms:60000}",
+            fixedDelayString = "${resume.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!incremental) {
+            return;
+        }
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            if (tryReconcile()) {
+                return;
+            }
+        }
+        logger.debug("Skipped stats reconcile: candidates were being written");
+    }
+
+    /**
+     * @return false if a tracked write overlapped the read, leaving the summary as is
+     */
+    private boolean tryReconcile() {
+        long started;
+        synchronized (this) {
+            if (writesInProgress > 0) {
+                return false;
+            }
+            started = writesStarted;
+        }
+
+        long[] counts = new long[BUCKETS];
+        double sum = 0.0;
+        long rows = 0;
+        for (Object[] row : candidateRepository.scoreHistogram()) {
+            int bucket = bucket(((Number) row[0]).doubleValue());
+            long count = ((Number) row[1]).longValue();
+            counts[bucket] += count;
+            sum += ((Number) row[2]).doubleValue();
+            rows += count;
+        }
+        long sent = candidateRepository.countByEmailSentTrue();
+
+        boolean drifted;
+        synchronized (this) {
+            if (writesInProgress > 0 || writesStarted != started) {
+                return false;
+            }
+            drifted = rows != total || sent != emailsSent || !Arrays.equals(counts, histogram);
+            if (drifted) {
+                logger.info("Reconciled candidate stats: {} candidates ({} tracked), {} emails sent ({} tracked)",
+                        rows, total, sent, emailsSent);
+            }
+            System.arraycopy(counts, 0, histogram, 0, BUCKETS);
+            total = rows;
+            emailsSent = sent;
+            scoreSum = sum;
+        }
+        if (drifted) {
+            readCache.invalidate();
+        }
+        return true;
+    }
+
+    private ResumeService.CandidateStats queryStats(double threshold) {
+        List<Object[]> result = candidateRepository.aggregateStats(threshold);
+        Object[] row = result.get(0);
+        long count = ((Number) row[0]).longValue();
+        return new ResumeService.CandidateStats(count,
+                row[1] == null ? 0 : ((Number) row[1]).longValue(),
+                row[2] == null ? 0 : ((Number) row[2]).longValue(),
+                row[3] == null ? 0.0 : ((Number) row[3]).doubleValue());
+    }
+
+    private long countAtLeast(double threshold) {
+        long count = 0;
+        for (int i = Math.max(0, (int) Math.ceil(threshold)); i < BUCKETS; i++) {
+            count += histogram[i];
+        }
+        return count;
+    }
+
+    private static int bucket(double score) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.floor(score)));
+    }
+}
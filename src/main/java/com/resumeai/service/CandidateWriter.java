@@ -0,0 +1,209 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import com.resumeai.model.ResumeFingerprint;
+import com.resumeai.repository.CandidateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Saves scored candidates in chunks. Writers queue their candidates and one of them
+ * writes everything queued so far in a single transaction: one lookup of the
+ * existing rows by email key, then JDBC-batched inserts and updates (ids come from
+ * a pooled sequence). While a chunk is being written, candidates scored on other
+ * threads pile up and go out together in the next one, so the number of round
+ * trips grows with the number of chunks rather than candidates.
+ */
+@Service
+public class CandidateWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandidateWriter.class);
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private ResumeDedupService dedupService;
+
+    @Autowired
+    private CandidateStatsService candidateStats;
+
+    @Autowired
+    private CandidateReadCache readCache;
+
+    @Value("${resume.persistence.max-chunk:200}")
+    private int maxChunk;
+
+    private TransactionTemplate transaction;
+
+    private final Queue<PendingCandidate> queue = new ConcurrentLinkedQueue<>();
+    // Held while writing a chunk; also serializes the find-or-create by email key
+    private final Object writeLock = new Object();
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Upsert candidates by normalized email, waiting until they are committed
+     * @param pending candidates to save; null entries are passed through
+     * @return the saved candidates in the same order, null where saving failed
+     */
+    public List<Candidate> saveAll(List<PendingCandidate> pending) {
+        for (PendingCandidate candidate : pending) {
+            if (candidate != null) {
+                queue.add(candidate);
+            }
+        }
+        synchronized (writeLock) {
+            for (PendingCandidate candidate : pending) {
+                // An earlier chunk may already have taken it
+                while (candidate != null && !candidate.done) {
+                    writeQueued();
+                }
+            }
+        }
+
+        List<Candidate> saved = new ArrayList<>(pending.size());
+        for (PendingCandidate candidate : pending) {
+            saved.add(candidate == null ? null : candidate.saved);
+        }
+        return saved;
+    }
+
+    private void writeQueued() {
+        List<PendingCandidate> chunk = new ArrayList<>();
+        PendingCandidate next;
+        while (chunk.size() < maxChunk && (next = queue.poll()) != null) {
+            chunk.add(next);
+        }
+        try {
+            write(chunk);
+        } catch (Exception e) {
+            if (chunk.size() == 1) {
+                logger.error("Could not save candidate {}", chunk.get(0).email, e);
+                chunk.get(0).fail();
+                return;
+            }
+            // Keep one bad row from failing the others
+            logger.warn("Saving {} candidates failed ({}), retrying one at a time", chunk.size(), e.getMessage());
+            for (PendingCandidate candidate : chunk) {
+                try {
+                    write(List.of(candidate));
+                } catch (Exception single) {
+                    logger.error("Could not save candidate {}", candidate.email, single);
+                    candidate.fail();
+                }
+            }
+        }
+    }
+
+    private void write(List<PendingCandidate> chunk) {
+        List<ResumeFingerprint> fingerprints = new ArrayList<>();
+        for (PendingCandidate candidate : chunk) {
+            if (candidate.fingerprint != null) {
+                fingerprints.add(candidate.fingerprint);
+            }
+        }
+
+        // Stats reconciles skip snapshots that overlap this write
+        candidateStats.beginWrite();
+        try {
+            List<ResumeFingerprint> savedFingerprints = transaction.execute(status -> upsert(chunk, fingerprints));
+
+            for (PendingCandidate candidate : chunk) {
+                candidateStats.onSaved(candidate.previousScore, candidate.previousEmailSent, candidate.score, false);
+                candidate.done = true;
+            }
+            readCache.invalidate();
+            dedupService.registerAll(savedFingerprints);
+        } finally {
+            candidateStats.endWrite();
+        }
+        logger.debug("Saved {} candidates", chunk.size());
+    }
+
+    /**
+     * Insert or update the chunk's rows and save its fingerprints, in the caller's transaction
+     */
+    private List<ResumeFingerprint> upsert(List<PendingCandidate> chunk, List<ResumeFingerprint> fingerprints) {
+        Set<String> keys = new HashSet<>();
+        chunk.forEach(candidate -> keys.add(candidate.emailKey));
+        Map<String, Candidate> rows = new HashMap<>();
+        for (Candidate existing : candidateRepository.findByEmailKeyIn(keys)) {
+            rows.put(existing.getEmailKey(), existing);
+        }
+
+        List<Candidate> inserts = new ArrayList<>();
+        for (PendingCandidate candidate : chunk) {
+            Candidate row = rows.get(candidate.emailKey);
+            if (row == null) {
+                row = new Candidate();
+                rows.put(candidate.emailKey, row);
+                inserts.add(row);
+                candidate.previousScore = null;
+                candidate.previousEmailSent = false;
+            } else {
+                // Existing rows are managed; their updates are flushed at commit
+                candidate.previousScore = row.getMatchScore();
+                candidate.previousEmailSent = Boolean.TRUE.equals(row.getEmailSent());
+            }
+            row.setName(candidate.name);
+            row.setEmail(candidate.email);
+            row.setSkills(candidate.skills);
+            row.setMatchedSkills(candidate.matchedSkills);
+            row.setMatchScore(candidate.score);
+            row.setProcessedAt(LocalDateTime.now());
+            row.setEmailSent(false);
+            candidate.saved = row;
+        }
+        candidateRepository.saveAll(inserts);
+        return dedupService.saveAll(fingerprints);
+    }
+
+    /**
+     * A scored candidate waiting to be saved
+     */
+    public static final class PendingCandidate {
+        private final String name;
+        private final String email;
+        private final String emailKey;
+        private final String skills;
+        private final String matchedSkills;
+        private final double score;
+        // Saved along with the candidate; null if the resume is already known
+        private final ResumeFingerprint fingerprint;
+
+        // Written under the write lock
+        private Candidate saved;
+        private Double previousScore;
+        private boolean previousEmailSent;
+        private boolean done;
+
+        public PendingCandidate(String name, String email, String skills, String matchedSkills, double score,
+                                ResumeFingerprint fingerprint) {
+            this.name = name;
+            this.email = email;
+            this.emailKey = Candidate.normalizeEmail(email);
+            this.skills = skills;
+            this.matchedSkills = matchedSkills;
+            this.score = score;
+            this.fingerprint = fingerprint;
+        }
+
+        private void fail() {
+            saved = null;
+            done = true;
+        }
+    }
+}
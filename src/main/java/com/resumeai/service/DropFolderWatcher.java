@@ -0,0 +1,374 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import com.resumeai.util.PathMultipartFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional ingestion mode: watches a directory and screens every PDF that appears
+ * in it against a job description kept in a file. Files are screened in place (no
+ * copy) once their size has stopped changing, and recorded in a checkpoint file
+ * (name, size, modification time) so a restart does not screen them again; a file
+ * that is replaced with new content is screened again. Files that were screened but
+ * yielded no candidate (no text, no name or email) are checkpointed too. Files that
+ * fail (Gemini outage, unreadable PDF) stay out of the checkpoint and are retried
+ * with backoff; failures that are not down to the files themselves (unreadable job
+ * description, the whole batch failing) only postpone them.
+ */
+@Service
+public class DropFolderWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DropFolderWatcher.class);
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Value("${resume.drop-folder.enabled:false}")
+    private boolean enabled;
+
+    @Value("${resume.drop-folder.path:}")
+    private String folder;
+
+    // Plain-text job description every dropped resume is screened against; re-read per batch
+    @Value("${resume.drop-folder.job-description-file:}")
+    private String jobDescriptionFile;
+
+    // Defaults to .processed inside the watched folder
+    @Value("${resume.drop-folder.checkpoint-file:}")
+    private String checkpointFile;
+
+    // A file is picked up once its size and modification time are unchanged for this long
+    @Value("${resume.drop-folder.settle-ms:2000}")
+    private long settleMs;
+
+    @Value("${resume.drop-folder.max-batch:100}")
+    private int maxBatch;
+
+    // Failed files are retried after this delay, doubling per attempt up to an hour
+    @Value("${resume.drop-folder.retry-backoff-ms:60000}")
+    private long retryBackoffMs;
+
+    // After this many failures a file is left until it changes or the application restarts
+    @Value("${resume.drop-folder.max-attempts:5}")
+    private int maxAttempts;
+
+    private Path directory;
+    private Path checkpoint;
+    private final Set<String> processed = new HashSet<>();
+    // Files that failed maxAttempts times in this run
+    private final Set<String> abandoned = new HashSet<>();
+    // Files seen but not yet screened, in the order they were first seen: last observed state
+    private final Map<Path, FileState> pending = new LinkedHashMap<>();
+
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (folder.isBlank() || jobDescriptionFile.isBlank()) {
+            throw new IllegalStateException(
+                    "resume.drop-folder.path and resume.drop-folder.job-description-file are required");
+        }
+        directory = Paths.get(folder).toAbsolutePath();
+        Files.createDirectories(directory);
+        checkpoint = checkpointFile.isBlank() ? directory.resolve(".processed") : Paths.get(checkpointFile);
+        loadCheckpoint();
+
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        running = true;
+        thread = new Thread(this::run, "drop-folder-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching {} for resumes ({} already processed)", directory, processed.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    private void run() {
+        // Files exported while the application was down
+        scan();
+        while (running) {
+            try {
+                WatchKey key = watchService.poll(Math.max(100, settleMs / 2), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            scan();
+                        } else {
+                            observe(directory.resolve((Path) event.context()));
+                        }
+                    }
+                    key.reset();
+                }
+                List<Path> ready = collectReady();
+                if (!ready.isEmpty()) {
+                    process(ready);
+                }
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Drop folder watcher error", e);
+            }
+        }
+    }
+
+    private void scan() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{pdf,PDF}")) {
+            for (Path file : files) {
+                observe(file);
+            }
+        } catch (IOException e) {
+            logger.error("Could not scan {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void observe(Path file) {
+        if (!file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+            return;
+        }
+        FileState state = FileState.of(file);
+        if (state == null || processed.contains(state.key(file)) || abandoned.contains(state.key(file))) {
+            return;
+        }
+        FileState previous = pending.get(file);
+        if (previous == null || !previous.sameContent(state)) {
+            pending.put(file, state);
+        }
+    }
+
+    /**
+     * Pending files whose size and modification time have settled and that are not
+     * waiting for a retry, in the order they were first seen
+     */
+    private List<Path> collectReady() {
+        long now = System.currentTimeMillis();
+        List<Path> ready = new ArrayList<>();
+        Iterator<Map.Entry<Path, FileState>> it = pending.entrySet().iterator();
+        while (it.hasNext() && ready.size() < maxBatch) {
+            Map.Entry<Path, FileState> entry = it.next();
+            FileState current = FileState.of(entry.getKey());
+            if (current == null) {
+                // Deleted or moved away before it settled
+                it.remove();
+            } else if (!current.sameContent(entry.getValue())) {
+                entry.setValue(current);
+            } else if (now - entry.getValue().observedAt >= settleMs && now >= entry.getValue().retryAt) {
+                ready.add(entry.getKey());
+            }
+        }
+        return ready;
+    }
+
+    private void process(List<Path> files) throws IOException {
+        MultipartFile[] uploads = new MultipartFile[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            // Screened in place: PDFBox and the dedup hash read the file directly
+            uploads[i] = new PathMultipartFile(file, file.getFileName().toString(), "application/pdf", false);
+        }
+
+        String jobDescription;
+        try {
+            jobDescription = Files.readString(Paths.get(jobDescriptionFile), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            logger.error("Could not read job description file {}: {}; postponing {} dropped resumes",
+                    jobDescriptionFile, e.getMessage(), files.size());
+            postpone(files);
+            return;
+        }
+        if (jobDescription.isEmpty()) {
+            logger.error("Job description file {} is empty; postponing {} dropped resumes", jobDescriptionFile,
+                    files.size());
+            postpone(files);
+            return;
+        }
+
+        logger.info("Screening {} resumes from {}", files.size(), directory);
+        // Called from the pipeline threads; names are unique within the folder
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        Set<String> rejected = ConcurrentHashMap.newKeySet();
+        try {
+            resumeService.processResumes(jobDescription, uploads, new ResumeService.ProgressListener() {
+                @Override
+                public void candidateScored(Candidate candidate) { }
+
+                @Override
+                public void fileFailed(String filename) {
+                    failed.add(filename);
+                }
+
+                @Override
+                public void fileRejected(String filename) {
+                    rejected.add(filename);
+                }
+
+                @Override
+                public void duplicateSkipped(String filename) { }
+            });
+        } catch (Exception e) {
+            logger.error("Screening {} dropped resumes failed; postponing them", files.size(), e);
+            postpone(files);
+            return;
+        }
+        if (!rejected.isEmpty()) {
+            logger.warn("No candidate found in {} dropped resumes, not screening them again: {}", rejected.size(),
+                    rejected);
+        }
+
+        List<String> keys = new ArrayList<>(files.size());
+        List<Path> retries = new ArrayList<>();
+        for (Path file : files) {
+            if (failed.contains(file.getFileName().toString())) {
+                retries.add(file);
+            } else {
+                keys.add(pending.remove(file).key(file));
+            }
+        }
+        appendCheckpoint(keys);
+        retry(retries);
+    }
+
+    /**
+     * Keep files pending for one backoff interval without counting an attempt against them
+     */
+    private void postpone(List<Path> files) {
+        long retryAt = System.currentTimeMillis() + retryBackoffMs;
+        for (Path file : files) {
+            FileState state = pending.get(file);
+            pending.put(file, state.retry(state.attempts, retryAt));
+        }
+    }
+
+    /**
+     * Keep failed files pending until their backoff expires, or give up on them for
+     * this run after maxAttempts
+     */
+    private void retry(List<Path> files) {
+        for (Path file : files) {
+            FileState state = pending.get(file);
+            int attempts = state.attempts + 1;
+            if (attempts >= maxAttempts) {
+                pending.remove(file);
+                abandoned.add(state.key(file));
+                logger.error("Giving up on {} after {} attempts; it is screened again when it changes or on restart",
+                        file.getFileName(), attempts);
+            } else {
+                long backoff = Math.min(TimeUnit.HOURS.toMillis(1), retryBackoffMs << Math.min(attempts - 1, 20));
+                pending.put(file, state.retry(attempts, System.currentTimeMillis() + backoff));
+                logger.warn("Could not screen {}; retrying in {} s (attempt {}/{})", file.getFileName(),
+                        backoff / 1000, attempts, maxAttempts);
+            }
+        }
+    }
+
+    private void loadCheckpoint() throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return;
+        }
+        for (String line : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                processed.add(line);
+            }
+        }
+    }
+
+    /**
+     * Append and fsync, so a crash right after screening does not lose the record
+     */
+    private void appendCheckpoint(List<String> keys) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (String key : keys) {
+            lines.append(key).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(checkpoint, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        processed.addAll(keys);
+    }
+
+    private static final class FileState {
+        private final long size;
+        private final long modifiedAt;
+        private final long observedAt;
+        // Failed screenings so far, and when the next one may start
+        private final int attempts;
+        private final long retryAt;
+
+        private FileState(long size, long modifiedAt) {
+            this(size, modifiedAt, System.currentTimeMillis(), 0, 0);
+        }
+
+        private FileState(long size, long modifiedAt, long observedAt, int attempts, long retryAt) {
+            this.size = size;
+            this.modifiedAt = modifiedAt;
+            this.observedAt = observedAt;
+            this.attempts = attempts;
+            this.retryAt = retryAt;
+        }
+
+        FileState retry(int attempts, long retryAt) {
+            return new FileState(size, modifiedAt, observedAt, attempts, retryAt);
+        }
+
+        static FileState of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return attributes.isRegularFile()
+                        ? new FileState(attributes.size(), attributes.lastModifiedTime().toMillis())
+                        : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        boolean sameContent(FileState other) {
+            return size == other.size && modifiedAt == other.modifiedAt;
+        }
+
+        // Tab-separated: name, size, modification time
+        String key(Path file) {
+            return file.getFileName() + "\t" + size + "\t" + modifiedAt;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import com.resumeai.model.EmailOutboxEntry;
+import com.resumeai.repository.CandidateRepository;
+import com.resumeai.repository.EmailOutboxRepository;
+import com.resumeai.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Persistent email outbox. Screening only enqueues notifications; a scheduled
+ * dispatcher drains due messages in batches over one SMTP connection per batch,
+ * under a per-minute send cap, retrying failures with exponential backoff.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private CandidateStatsService candidateStats;
+
+    @Autowired
+    private CandidateReadCache readCache;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    @Value("${resume.email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${resume.email.outbox.max-per-minute:60}")
+    private long maxPerMinute;
+
+    @Value("${resume.email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${resume.email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${resume.email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    private TokenBucket sendBucket;
+
+    @PostConstruct
+    public void init() {
+        sendBucket = new TokenBucket(maxPerMinute);
+    }
+
+    /**
+     * Queue shortlist/rejection emails for scored candidates
+     */
+    public void enqueue(List<Candidate> candidates, double threshold) {
+        List<EmailOutboxEntry> entries = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            SimpleMailMessage message = emailService.buildMessage(candidate, threshold);
+            entries.add(new EmailOutboxEntry(candidate.getId(), candidate.getEmail(),
+                    message.getSubject(), message.getText()));
+        }
+        outboxRepository.saveAll(entries);
+        logger.info("Queued {} candidate emails", entries.size());
+    }
+
+    /**
+     * Send due messages until the outbox is drained or the per-minute cap is reached
+     */
+    @Scheduled(fixedDelayString = "${resume.email.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        if (!emailService.isEmailConfigured()) {
+            return;
+        }
+        while (true) {
+            List<EmailOutboxEntry> due = outboxRepository.findDue(EmailOutboxEntry.Status.PENDING, LocalDateTime.now(),
+                    PageRequest.of(0, batchSize));
+            int allowed = 0;
+            while (allowed < due.size() && sendBucket.tryAcquire(1)) {
+                allowed++;
+            }
+            if (allowed == 0) {
+                return;
+            }
+            sendBatch(due.subList(0, allowed));
+            if (allowed < due.size()) {
+                // Rate limited; the rest waits for the next poll
+                return;
+            }
+        }
+    }
+
+    private void sendBatch(List<EmailOutboxEntry> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+        PipelineMetrics.Sample sample = metrics.start();
+        try {
+            emailService.sendBatch(messages);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Connection-level failure: nothing was sent
+                Arrays.stream(messages).forEach(m -> failed.put(m, e));
+            } else {
+                failed.putAll(e.getFailedMessages());
+            }
+        } catch (MailException e) {
+            Arrays.stream(messages).forEach(m -> failed.put(m, e));
+        }
+        metrics.stop(PipelineMetrics.Stage.EMAIL, sample);
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        List<Long> sentCandidates = new ArrayList<>(batch.size());
+        List<EmailOutboxEntry> retries = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxEntry entry = batch.get(i);
+            Exception error = failed.get(messages[i]);
+            if (error == null) {
+                sentIds.add(entry.getId());
+                sentCandidates.add(entry.getCandidateId());
+            } else {
+                scheduleRetry(entry, error);
+                retries.add(entry);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxRepository.updateSent(sentIds, EmailOutboxEntry.Status.SENT, LocalDateTime.now());
+            candidateStats.beginWrite();
+            try {
+                candidateStats.onEmailsSent(candidateRepository.markEmailSent(sentCandidates));
+            } finally {
+                candidateStats.endWrite();
+            }
+            readCache.invalidate();
+        }
+        if (!retries.isEmpty()) {
+            outboxRepository.saveAll(retries);
+        }
+        logger.info("Email batch: {} sent, {} failed", sentIds.size(), retries.size());
+    }
+
+    private void scheduleRetry(EmailOutboxEntry entry, Exception error) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(error.getMessage()));
+        if (attempts >= maxAttempts) {
+            entry.setStatus(EmailOutboxEntry.Status.FAILED);
+            logger.error("Giving up on email to {} after {} attempts: {}", entry.getRecipient(), attempts,
+                    error.getMessage());
+        } else {
+            long delay = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempts - 1, 20));
+            entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+            logger.warn("Email to {} failed ({}), retrying in {} s", entry.getRecipient(), error.getMessage(), delay);
+        }
+    }
+
+    public OutboxStats getStats() {
+        return new OutboxStats(outboxRepository.countByStatus(EmailOutboxEntry.Status.PENDING),
+                outboxRepository.countByStatus(EmailOutboxEntry.Status.SENT),
+                outboxRepository.countByStatus(EmailOutboxEntry.Status.FAILED));
+    }
+
+    private SimpleMailMessage toMessage(EmailOutboxEntry entry) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(emailService.getFromEmail());
+        message.setTo(entry.getRecipient());
+        message.setSubject(entry.getSubject());
+        message.setText(entry.getBody());
+        return message;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    public static class OutboxStats {
+        private final long pending;
+        private final long sent;
+        private final long failed;
+
+        public OutboxStats(long pending, long sent, long failed) {
+            this.pending = pending;
+            this.sent = sent;
+            this.failed = failed;
+        }
+
+        public long getPending() { return pending; }
+        public long getSent() { return sent; }
+        public long getFailed() { return failed; }
+    }
+}
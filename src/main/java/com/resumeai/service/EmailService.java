@@ -25,59 +25,62 @@ public class EmailService {
     private String fromEmail;
 
     /**
-     * Send email to candidate (shortlist OR rejection) based on threshold
-     * @param candidate the candidate to send email to
+     * Build the shortlist OR rejection email for a candidate without sending it
+     * @param candidate the candidate to notify
      * @param threshold score threshold
-     * @return true if email sent successfully, false otherwise
+     * @return the message
      */
-    public boolean sendShortlistedMail(Candidate candidate, double threshold) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(candidate.getEmail());
+    public SimpleMailMessage buildMessage(Candidate candidate, double threshold) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(candidate.getEmail());
 
-            String emailBody;
+        String emailBody;
 
-            if (candidate.getMatchScore() >= threshold) {
-                // Shortlisted 🎉
-                message.setSubject("Resume Shortlisted");
-                emailBody = String.format(
-                        "Hi %s,\n\n" +
-                                "Congratulations! Your resume has been shortlisted for our position.\n\n" +
-                                "Your matching score: %.1f%%\n" +
-                                "Matched skills: %s\n\n" +
-                                "We'll contact you soon with next steps.\n\n" +
-                                "Best regards,\nHR Team",
-                        candidate.getName(),
-                        candidate.getMatchScore(),
-                        candidate.getMatchedSkills()
-                );
-            } else {
-                // Rejected 🙏
-                message.setSubject("Application Update - Thank You");
-                emailBody = String.format(
-                        "Hi %s,\n\n" +
-                                "Thank you for applying. After evaluating your resume, " +
-                                "your score was %.1f%%, which is below our shortlisting threshold of %.1f%%.\n\n" +
-                                "Although you were not shortlisted this time, we truly appreciate your interest " +
-                                "and encourage you to apply for future opportunities with us.\n\n" +
-                                "Best regards,\nHR Team",
-                        candidate.getName(),
-                        candidate.getMatchScore(),
-                        threshold
-                );
-            }
+        if (candidate.getMatchScore() >= threshold) {
+            // Shortlisted 🎉
+            message.setSubject("Resume Shortlisted");
+            emailBody = String.format(
+                    "Hi %s,\n\n" +
+                            "Congratulations! Your resume has been shortlisted for our position.\n\n" +
+                            "Your matching score: %.1f%%\n" +
+                            "Matched skills: %s\n\n" +
+                            "We'll contact you soon with next steps.\n\n" +
+                            "Best regards,\nHR Team",
+                    candidate.getName(),
+                    candidate.getMatchScore(),
+                    candidate.getMatchedSkills()
+            );
+        } else {
+            // Rejected 🙏
+            message.setSubject("Application Update - Thank You");
+            emailBody = String.format(
+                    "Hi %s,\n\n" +
+                            "Thank you for applying. After evaluating your resume, " +
+                            "your score was %.1f%%, which is below our shortlisting threshold of %.1f%%.\n\n" +
+                            "Although you were not shortlisted this time, we truly appreciate your interest " +
+                            "and encourage you to apply for future opportunities with us.\n\n" +
+                            "Best regards,\nHR Team",
+                    candidate.getName(),
+                    candidate.getMatchScore(),
+                    threshold
+            );
+        }
 
-            message.setText(emailBody);
-            mailSender.send(message);
+        message.setText(emailBody);
+        return message;
+    }
 
-            logger.info("Email (shortlist/rejection) sent successfully to: {}", candidate.getEmail());
-            return true;
+    /**
+     * Send several messages over one SMTP connection
+     * @throws org.springframework.mail.MailSendException listing the messages that failed
+     */
+    public void sendBatch(SimpleMailMessage... messages) {
+        mailSender.send(messages);
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to send email to: {}", candidate.getEmail(), e);
-            return false;
-        }
+    public String getFromEmail() {
+        return fromEmail;
     }
 
     /**
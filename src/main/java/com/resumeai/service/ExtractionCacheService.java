@@ -0,0 +1,175 @@
+package com.resumeai.service;
+
+import com.resumeai.model.ExtractionCacheEntry;
+import com.resumeai.repository.ExtractionCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache of Gemini extraction results: an in-memory LRU with size and TTL
+ * eviction in front of the extraction_cache table
+ */
+@Service
+public class ExtractionCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionCacheService.class);
+
+    @Autowired
+    private ExtractionCacheRepository cacheRepository;
+
+    @Value("${resume.cache.extraction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${resume.cache.extraction.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${resume.cache.extraction.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${resume.cache.extraction.persistent-ttl-days:30}")
+    private long persistentTtlDays;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final LinkedHashMap<String, MemoryEntry> memory = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MemoryEntry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Content address of a resume for a given prompt version
+     */
+    public String key(String resumeText, String promptVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(promptVersion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(resumeText.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return the cached extraction, or null on a miss
+     */
+    public GeminiService.CandidateInfo get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            MemoryEntry entry = memory.get(key);
+            if (entry != null) {
+                if (now - entry.storedAt <= ttlMinutes * 60_000L) {
+                    memoryHits.incrementAndGet();
+                    return entry.info;
+                }
+                memory.remove(key);
+            }
+        }
+
+        try {
+            Optional<ExtractionCacheEntry> stored = cacheRepository.findById(key);
+            if (stored.isPresent()
+                    && stored.get().getCreatedAt().isAfter(LocalDateTime.now().minusDays(persistentTtlDays))) {
+                GeminiService.CandidateInfo info = toInfo(stored.get());
+                remember(key, info);
+                persistentHits.incrementAndGet();
+                return info;
+            }
+        } catch (Exception e) {
+            logger.warn("Extraction cache lookup failed: {}", e.getMessage());
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, GeminiService.CandidateInfo info) {
+        if (!enabled) {
+            return;
+        }
+
+        remember(key, info);
+        try {
+            cacheRepository.save(new ExtractionCacheEntry(
+                    key, info.getName(), info.getEmail(), String.join("\n", info.getSkills())));
+        } catch (Exception e) {
+            // Another thread stored the same resume first
+            logger.debug("Could not persist extraction cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (memory) {
+            size = memory.size();
+        }
+        return new CacheStats(memoryHits.get(), persistentHits.get(), misses.get(), size);
+    }
+
+    private void remember(String key, GeminiService.CandidateInfo info) {
+        synchronized (memory) {
+            memory.put(key, new MemoryEntry(info, System.currentTimeMillis()));
+        }
+    }
+
+    private GeminiService.CandidateInfo toInfo(ExtractionCacheEntry entry) {
+        List<String> skills = entry.getSkills() == null || entry.getSkills().isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(Arrays.asList(entry.getSkills().split("\n")));
+        return new GeminiService.CandidateInfo(entry.getName(), entry.getEmail(), skills);
+    }
+
+    private static class MemoryEntry {
+        private final GeminiService.CandidateInfo info;
+        private final long storedAt;
+
+        MemoryEntry(GeminiService.CandidateInfo info, long storedAt) {
+            this.info = info;
+            this.storedAt = storedAt;
+        }
+    }
+
+    public static class CacheStats {
+        private final long memoryHits;
+        private final long persistentHits;
+        private final long misses;
+        private final int memoryEntries;
+
+        public CacheStats(long memoryHits, long persistentHits, long misses, int memoryEntries) {
+            this.memoryHits = memoryHits;
+            this.persistentHits = persistentHits;
+            this.misses = misses;
+            this.memoryEntries = memoryEntries;
+        }
+
+        public long getMemoryHits() { return memoryHits; }
+        public long getPersistentHits() { return persistentHits; }
+        public long getHits() { return memoryHits + persistentHits; }
+        public long getMisses() { return misses; }
+        public int getMemoryEntries() { return memoryEntries; }
+
+        public double getHitRate() {
+            long lookups = getHits() + misses;
+            return lookups == 0 ? 0.0 : (double) getHits() / lookups;
+        }
+    }
+}
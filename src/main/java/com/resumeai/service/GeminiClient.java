@@ -0,0 +1,208 @@
+package com.resumeai.service;
+
+import com.resumeai.util.AdaptiveConcurrencyLimiter;
+import com.resumeai.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemini generateContent client with request/token rate limiting, retries with
+ * exponential backoff and jitter (honoring Retry-After), and an AIMD limit on
+ * concurrent in-flight calls
+ */
+@Service
+public class GeminiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiClient.class);
+
+    @Autowired
+    private GeminiTransport transport;
+
+    @Value("${gemini.client.requests-per-minute:60}")
+    private long requestsPerMinute;
+
+    @Value("${gemini.client.tokens-per-minute:1000000}")
+    private long tokensPerMinute;
+
+    // Output tokens reserved per call on top of the prompt estimate
+    @Value("${gemini.client.response-tokens:512}")
+    private int responseTokens;
+
+    @Value("${gemini.client.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${gemini.client.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${gemini.client.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    @Value("${gemini.client.initial-concurrency:4}")
+    private int initialConcurrency;
+
+    @Value("${gemini.client.max-concurrency:32}")
+    private int maxConcurrency;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private TokenBucket requestBucket;
+    private TokenBucket tokenBucket;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @PostConstruct
+    public void init() {
+        requestBucket = new TokenBucket(requestsPerMinute);
+        tokenBucket = new TokenBucket(tokensPerMinute);
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialConcurrency, 1, maxConcurrency);
+    }
+
+    /**
+     * Send a prompt and return the text of the first candidate
+     * @throws GeminiCallException when the call still fails after all retries
+     */
+    public String generate(String prompt) {
+        long tokens = prompt.length() / 4 + 1 + responseTokens;
+        calls.incrementAndGet();
+
+        for (int attempt = 1; ; attempt++) {
+            GeminiCallException failure;
+            try {
+                requestBucket.acquire(1);
+                tokenBucket.acquire(tokens);
+                concurrencyLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeminiCallException("Interrupted while waiting for Gemini rate limit", 0, null, e);
+            }
+
+            boolean wasThrottled = false;
+            try {
+                return transport.generate(prompt);
+            } catch (GeminiCallException e) {
+                failure = e;
+                wasThrottled = e.isThrottled();
+            } finally {
+                concurrencyLimiter.release(wasThrottled);
+            }
+
+            if (wasThrottled) {
+                throttled.incrementAndGet();
+            }
+            if (!failure.isRetryable() || attempt >= maxAttempts) {
+                failures.incrementAndGet();
+                throw failure;
+            }
+
+            long delay = backoffMillis(attempt, failure.getRetryAfter());
+            retries.incrementAndGet();
+            logger.warn("Gemini call failed ({}), retrying in {} ms (attempt {}/{})",
+                    failure.getMessage(), delay, attempt + 1, maxAttempts);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw failure;
+            }
+        }
+    }
+
+    public ClientStats getStats() {
+        return new ClientStats(calls.get(), retries.get(), throttled.get(), failures.get(),
+                concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight());
+    }
+
+    /**
+     * Exponential backoff with jitter, never shorter than the server's Retry-After
+     */
+    private long backoffMillis(int attempt, Duration retryAfter) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        if (retryAfter != null) {
+            delay = Math.max(delay, retryAfter.toMillis());
+        }
+        return delay;
+    }
+
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ignored) {
+            // HTTP-date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Failed Gemini call. Status 0 means no HTTP response was received.
+     */
+    public static class GeminiCallException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+        private final Duration retryAfter;
+
+        public GeminiCallException(String message, int status, Duration retryAfter, Throwable cause) {
+            super(message, cause);
+            this.status = status;
+            this.retryAfter = retryAfter;
+        }
+
+        public int getStatus() { return status; }
+        public Duration getRetryAfter() { return retryAfter; }
+
+        public boolean isThrottled() {
+            return status == 429 || status == 503;
+        }
+
+        public boolean isRetryable() {
+            return status == 0 || status == 408 || status == 429 || status >= 500;
+        }
+    }
+
+    public static class ClientStats {
+        private final long calls;
+        private final long retries;
+        private final long throttled;
+        private final long failures;
+        private final int concurrencyLimit;
+        private final int inFlight;
+
+        public ClientStats(long calls, long retries, long throttled, long failures, int concurrencyLimit, int inFlight) {
+            this.calls = calls;
+            this.retries = retries;
+            this.throttled = throttled;
+            this.failures = failures;
+            this.concurrencyLimit = concurrencyLimit;
+            this.inFlight = inFlight;
+        }
+
+        public long getCalls() { return calls; }
+        public long getRetries() { return retries; }
+        public long getThrottled() { return throttled; }
+        public long getFailures() { return failures; }
+        public int getConcurrencyLimit() { return concurrencyLimit; }
+        public int getInFlight() { return inFlight; }
+    }
+}
@@ -1,27 +1,51 @@
 package com.resumeai.service;
 
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeai.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class GeminiService {
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    private static final Logger logger = LoggerFactory.getLogger(GeminiService.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // Bump whenever the extraction prompt changes so cached results are not reused
+    public static final String EXTRACTION_PROMPT_VERSION = "v2";
 
-    // ✅ Updated to the latest endpoint
-    private static final String GEMINI_API_URL =
-            "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent?key=%s";
+    private static final int BATCH_PROMPT_TOKENS = 100;
+    private static final int BATCH_ITEM_OVERHEAD_TOKENS = 20;
+
+    @Value("${gemini.batch.token-budget:24000}")
+    private int batchTokenBudget;
+
+    @Value("${gemini.batch.max-resumes:8}")
+    private int batchMaxResumes;
+
+    @Autowired
+    private ExtractionCacheService extractionCache;
+
+    @Autowired
+    private GeminiClient geminiClient;
+
+    @Autowired
+    private LocalResumeExtractor localExtractor;
+
+    @Autowired
+    private SkillCatalog skillCatalog;
+
+    @Autowired
+    private ResumeCompactor compactor;
 
     public List<String> extractSkillsFromJD(String jobDescription) {
         String prompt = "Extract only the list of required skills from the following job description:\n\n"
@@ -31,6 +55,20 @@ public class GeminiService {
         return parseSkillsFromResponse(response);
     }
     public CandidateInfo extractCandidateInfo(String resumeText) {
+        CandidateInfo local = localExtractor.tryResolve(resumeText);
+        if (local != null) {
+            return local;
+        }
+
+        String cacheKey = extractionCache.key(resumeText, EXTRACTION_PROMPT_VERSION);
+        CandidateInfo cached = extractionCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        return extractWithGemini(resumeText, cacheKey);
+    }
+
+    private CandidateInfo extractWithGemini(String resumeText, String cacheKey) {
         String prompt = "Extract the following from the resume text below in plain text only, "
                 + "without adding asterisks, bullet points, or markdown formatting. "
                 + "Return exactly in this format:\n"
@@ -38,64 +76,177 @@ public class GeminiService {
                 + "Email: <email address>\n"
                 + "Skills: <comma-separated skills>\n\n"
                 + "Resume:\n"
-                + resumeText;
+                + compactor.compact(resumeText);
 
         String response = askGemini(prompt);
 
-        // Clean markdown formatting (remove **, *, extra spaces, etc.)
-        response = response.replaceAll("\\*+", "").trim();
+        // Clean markdown formatting (remove **, *)
+        response = TextNormalizer.stripMarkdown(response);
 
         String name = extractField(response, "name");
         String email = extractField(response, "email");
         List<String> skills = parseSkillsFromResponse(response);
 
-        return new CandidateInfo(name, email, skills);
+        CandidateInfo info = new CandidateInfo(name, email, skills);
+        if (!name.isEmpty() && !email.isEmpty()) {
+            extractionCache.put(cacheKey, info);
+        }
+        return info;
     }
 
 
+    /**
+     * Group resumes (by index, in order) into batches that fit the batch token budget
+     */
+    public List<List<Integer>> partitionForBatching(List<String> resumeTexts) {
+        List<List<Integer>> batches = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        int currentTokens = BATCH_PROMPT_TOKENS;
+
+        for (int i = 0; i < resumeTexts.size(); i++) {
+            int tokens = compactor.estimateTokens(resumeTexts.get(i)) + BATCH_ITEM_OVERHEAD_TOKENS;
+            boolean full = current.size() >= batchMaxResumes || currentTokens + tokens > batchTokenBudget;
+            if (!current.isEmpty() && full) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentTokens = BATCH_PROMPT_TOKENS;
+            }
+            current.add(i);
+            currentTokens += tokens;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    /**
+     * Extract candidate info for several resumes with one Gemini request. Results are
+     * returned in input order; any resume whose sub-result is missing, malformed or has an
+     * email that does not occur in its text (the model mixed up resume ids) falls back to
+     * {@link #extractCandidateInfo(String)}.
+     */
+    public List<CandidateInfo> extractCandidateInfoBatch(List<String> resumeTexts) {
+        CandidateInfo[] results = new CandidateInfo[resumeTexts.size()];
+        String[] cacheKeys = new String[resumeTexts.size()];
+        List<Integer> pending = new ArrayList<>();
+
+        for (int i = 0; i < resumeTexts.size(); i++) {
+            results[i] = localExtractor.tryResolve(resumeTexts.get(i));
+            if (results[i] != null) {
+                continue;
+            }
+            cacheKeys[i] = extractionCache.key(resumeTexts.get(i), EXTRACTION_PROMPT_VERSION);
+            results[i] = extractionCache.get(cacheKeys[i]);
+            if (results[i] == null) {
+                pending.add(i);
+            }
+        }
+
+        if (pending.size() == 1) {
+            int only = pending.get(0);
+            results[only] = extractWithGemini(resumeTexts.get(only), cacheKeys[only]);
+        } else if (!pending.isEmpty()) {
+            Map<Integer, CandidateInfo> parsed = Map.of();
+            try {
+                parsed = parseBatchResponse(askGemini(buildBatchPrompt(resumeTexts, pending)));
+            } catch (Exception e) {
+                logger.warn("Batched extraction of {} resumes failed: {}", pending.size(), e.getMessage());
+            }
+
+            for (int i : pending) {
+                CandidateInfo info = parsed.get(i);
+                if (info != null && mentionsEmail(resumeTexts.get(i), info.getEmail())) {
+                    extractionCache.put(cacheKeys[i], info);
+                    results[i] = info;
+                } else {
+                    if (info != null) {
+                        logger.warn("Batched result for resume {} has an email that is not in its text", i);
+                    }
+                    logger.info("No valid batched result for resume {}, falling back to single extraction", i);
+                    results[i] = extractWithGemini(resumeTexts.get(i), cacheKeys[i]);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
     public SkillMatch calculateSkillMatch(List<String> jdSkills, List<String> candidateSkills) {
-        Set<String> jd = jdSkills.stream().map(String::toLowerCase).collect(Collectors.toSet());
-        Set<String> candidate = candidateSkills.stream().map(String::toLowerCase).collect(Collectors.toSet());
+        return calculateSkillMatch(skillCatalog.compile(jdSkills), candidateSkills);
+    }
 
-        Set<String> matched = new HashSet<>(jd);
-        matched.retainAll(candidate);
+    /**
+     * Match against a job description whose skills were interned once for the whole batch
+     */
+    public SkillMatch calculateSkillMatch(SkillCatalog.SkillSet jdSkills, List<String> candidateSkills) {
+        SkillCatalog.SkillSet candidate = jdSkills.getSnapshot().compile(candidateSkills);
+        int matched = jdSkills.countMatches(candidate);
 
-        double score = jd.isEmpty() ? 0.0 : ((double) matched.size() / jd.size()) * 100.0;
+        double score = jdSkills.isEmpty() ? 0.0 : ((double) matched / jdSkills.size()) * 100.0;
 
-        return new SkillMatch(new ArrayList<>(matched), score);
+        return new SkillMatch(matched == 0 ? new ArrayList<>() : jdSkills.matchedNames(candidate), score);
     }
 
     private String askGemini(String prompt) {
-        Map<String, Object> content = Map.of(
-                "contents", List.of(
-                        Map.of("parts", List.of(Map.of("text", prompt)))
-                )
-        );
+        return geminiClient.generate(prompt);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    private String buildBatchPrompt(List<String> resumeTexts, List<Integer> indexes) {
+        StringBuilder prompt = new StringBuilder()
+                .append("Extract the candidate's full name, email address and skills from each resume below. ")
+                .append("Return only a JSON array, without markdown formatting, containing exactly one object per resume:\n")
+                .append("[{\"id\": <resume id>, \"name\": \"<full name>\", \"email\": \"<email address>\", ")
+                .append("\"skills\": [\"<skill>\", ...]}]\n\n");
+        for (int i : indexes) {
+            prompt.append("=== RESUME ").append(i).append(" ===\n")
+                    .append(compactor.compact(resumeTexts.get(i)))
+                    .append("\n=== END RESUME ").append(i).append(" ===\n\n");
+        }
+        return prompt.toString();
+    }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(content, headers);
+    /**
+     * Map resume id to extracted info; malformed entries are left out
+     */
+    private Map<Integer, CandidateInfo> parseBatchResponse(String response) throws IOException {
+        int start = response.indexOf('[');
+        int end = response.lastIndexOf(']');
+        if (start == -1 || end <= start) {
+            throw new IOException("No JSON array in batched response");
+        }
 
-        String url = String.format(GEMINI_API_URL, geminiApiKey);
-        ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
+        Map<Integer, CandidateInfo> results = new HashMap<>();
+        for (JsonNode item : OBJECT_MAPPER.readTree(response.substring(start, end + 1))) {
+            JsonNode id = item.get("id");
+            String name = TextNormalizer.stripMarkdown(item.path("name").asText(""));
+            String email = item.path("email").asText("").trim();
+            JsonNode skillsNode = item.get("skills");
+            if (id == null || !id.canConvertToInt() || name.isEmpty() || email.isEmpty()
+                    || skillsNode == null || !skillsNode.isArray()) {
+                continue;
+            }
 
-        if (response.getStatusCode().is2xxSuccessful()) {
-            try {
-                JSONObject json = new JSONObject(response.getBody());
-                JSONArray candidates = json.getJSONArray("candidates");
-                JSONObject first = candidates.getJSONObject(0);
-                JSONArray parts = first.getJSONObject("content").getJSONArray("parts");
-                return parts.getJSONObject(0).getString("text").trim();
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to parse Gemini response: " + response.getBody(), e);
+            List<String> skills = new ArrayList<>();
+            for (JsonNode skill : skillsNode) {
+                String value = skill.asText("").trim();
+                if (!value.isEmpty()) {
+                    skills.add(value);
+                }
             }
-        } else {
-            throw new RuntimeException("Failed to call Gemini API: " + response.getStatusCode());
+            results.putIfAbsent(id.asInt(), new CandidateInfo(name, email, skills));
         }
+        return results;
+    }
+
+    /**
+     * Batched results are matched to resumes only by the id the model echoes back, so
+     * one is accepted only if its email actually occurs in that resume
+     */
+    private static boolean mentionsEmail(String resumeText, String email) {
+        return resumeText.toLowerCase(Locale.ROOT).contains(email.toLowerCase(Locale.ROOT));
     }
 
-    private String extractField(String response, String fieldName) {
+    static String extractField(String response, String fieldName) {
         String[] lines = response.split("\n");
         for (String line : lines) {
             if (line.toLowerCase().contains(fieldName.toLowerCase())) {
@@ -108,7 +259,7 @@ public class GeminiService {
         return "";
     }
 
-    private List<String> parseSkillsFromResponse(String response) {
+    static List<String> parseSkillsFromResponse(String response) {
         if (response.contains(":")) {
             response = response.substring(response.lastIndexOf(":") + 1);
         }
@@ -0,0 +1,199 @@
+package com.resumeai.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okhttp3.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled HTTP/2-capable OkHttp transport for Gemini generateContent calls.
+ * Request bodies are written and responses read with the Jackson streaming API,
+ * stopping at the first candidate's text.
+ */
+@Service
+public class GeminiTransport {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Value("${gemini.api.key}")
+    private String apiKey;
+
+    @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent}")
+    private String apiUrl;
+
+    @Value("${gemini.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${gemini.http.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${gemini.http.call-timeout-ms:120000}")
+    private long callTimeoutMs;
+
+    @Value("${gemini.http.max-idle-connections:16}")
+    private int maxIdleConnections;
+
+    @Value("${gemini.http.keep-alive-minutes:5}")
+    private long keepAliveMinutes;
+
+    @Value("${gemini.http.max-requests:64}")
+    private int maxRequests;
+
+    private OkHttpClient httpClient;
+    private HttpUrl url;
+
+    @PostConstruct
+    public void init() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+
+        httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMinutes, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .callTimeout(callTimeoutMs, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+
+        url = HttpUrl.get(apiUrl).newBuilder().addQueryParameter("key", apiKey).build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Send a prompt; completes with the first candidate's text or a
+     * {@link GeminiClient.GeminiCallException}
+     */
+    public CompletableFuture<String> generateAsync(String prompt) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Request request;
+        try {
+            request = new Request.Builder().url(url).post(RequestBody.create(requestBody(prompt), JSON)).build();
+        } catch (IOException e) {
+            future.completeExceptionally(new GeminiClient.GeminiCallException(
+                    "Failed to build Gemini request", 0, null, e));
+            return future;
+        }
+
+        Call call = httpClient.newCall(request);
+        future.whenComplete((text, e) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new GeminiClient.GeminiCallException(
+                        "I/O error calling Gemini API: " + e.getMessage(), 0, null, e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(readResponse(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Blocking form of {@link #generateAsync(String)}
+     */
+    public String generate(String prompt) {
+        try {
+            return generateAsync(prompt).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private String readResponse(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new GeminiClient.GeminiCallException("Failed to call Gemini API: " + response.code(),
+                    response.code(), GeminiClient.parseRetryAfter(response.header("Retry-After")), null);
+        }
+
+        ResponseBody body = response.body();
+        String text = body == null ? null : extractText(body.byteStream());
+        if (text == null) {
+            throw new GeminiClient.GeminiCallException("Failed to parse Gemini response: no candidate text",
+                    response.code(), null, null);
+        }
+        return text.trim();
+    }
+
+    /**
+     * Stream to candidates[0].content.parts[0].text without building a tree
+     */
+    static String extractText(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            boolean inCandidates = false;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String field = parser.getCurrentName();
+                if (!inCandidates) {
+                    if ("candidates".equals(field)) {
+                        inCandidates = true;
+                    } else {
+                        parser.nextToken();
+                        parser.skipChildren();
+                    }
+                } else if ("text".equals(field) && parser.nextToken() == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static byte[] requestBody(String prompt) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prompt.length() + 64);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("contents");
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("parts");
+            generator.writeStartObject();
+            generator.writeStringField("text", prompt);
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,300 @@
+package com.resumeai.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule-based extraction tier that runs before Gemini: regex for email and phone,
+ * a header heuristic for the name and dictionary matching against the skill catalog.
+ * Results are only used when their confidence reaches the configured threshold. Skills
+ * only count towards it in proportion to how much of the resume's skills section the
+ * catalog recognizes: anything it does not know would be missing from the candidate,
+ * while Gemini would have extracted it.
+ */
+@Service
+public class LocalResumeExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalResumeExtractor.class);
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    private static final Pattern PHONE = Pattern.compile("\\+?\\d[\\d ().-]{8,18}\\d");
+    private static final Pattern NAME_WORD = Pattern.compile("[A-Z][A-Za-z'-]*\\.?|[A-Z]\\.");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[\\s,;|()\\[\\]{}:•·\"]+");
+    private static final Pattern SKILLS_HEADER = Pattern.compile(
+            "(?im)^[\\s•·*-]*(?:technical\\s+|key\\s+|core\\s+)?(?:skills|technologies|tech\\s+stack|competencies)"
+                    + "(?:\\s*(?:&|and)\\s*\\w+)?\\s*(?::(.*))?$");
+    private static final Pattern SKILL_ITEM_SEPARATORS = Pattern.compile("[,;|•·\\n]+");
+
+    private static final int HEADER_WORDS = 12;
+    private static final int MAX_PHRASE_WORDS = 3;
+    // Lines after a skills header read as part of the section, up to a blank line
+    private static final int SKILLS_SECTION_LINES = 10;
+    // Longer list items are prose, not skill names
+    private static final int MAX_SKILL_ITEM_WORDS = 4;
+
+    // Confidence is scored in whole points out of 100 so the threshold comparison is exact
+    private static final int EMAIL_POINTS = 40;
+    private static final int NAME_POINTS = 30;
+    private static final int SKILLS_POINTS = 20;
+    private static final int PHONE_POINTS = 10;
+
+    private static final Set<String> NOT_NAME_WORDS = Set.of(
+            "resume", "curriculum", "vitae", "cv", "profile", "contact", "email", "e-mail", "phone",
+            "mobile", "address", "objective", "summary", "career", "personal", "details", "name",
+            "senior", "junior", "lead", "principal", "staff", "software", "engineer", "developer", "programmer",
+            "architect", "manager", "analyst", "consultant", "intern", "designer", "scientist", "full", "stack");
+
+    @Value("${resume.local-extraction.enabled:false}")
+    private boolean enabled;
+
+    @Value("${resume.local-extraction.confidence-threshold:0.9}")
+    private double confidenceThreshold;
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong resolved = new AtomicLong();
+
+    @Autowired
+    private SkillCatalog skillCatalog;
+
+    private volatile Lexicon lexicon;
+
+    /**
+     * Phrase index over the catalog's canonical names and aliases, rebuilt when the catalog is reloaded
+     */
+    private Map<String, String> lexicon() {
+        SkillCatalog.Snapshot snapshot = skillCatalog.current();
+        Lexicon cached = lexicon;
+        if (cached != null && cached.source == snapshot) {
+            return cached.phrases;
+        }
+
+        Map<String, String> phrases = new HashMap<>();
+        snapshot.getPhrases().forEach((phrase, canonical) ->
+                phrases.putIfAbsent(String.join(" ", tokenize(phrase)), canonical));
+        lexicon = new Lexicon(snapshot, phrases);
+        logger.info("Built local extraction lexicon with {} skill phrases", phrases.size());
+        return phrases;
+    }
+
+    /**
+     * @return locally extracted info if confident enough, otherwise null (caller should ask Gemini)
+     */
+    public GeminiService.CandidateInfo tryResolve(String resumeText) {
+        if (!enabled) {
+            return null;
+        }
+        attempts.incrementAndGet();
+        LocalExtraction extraction = extract(resumeText);
+        if (extraction.getPoints() < Math.round(confidenceThreshold * 100)) {
+            return null;
+        }
+        resolved.incrementAndGet();
+        return extraction.getInfo();
+    }
+
+    public LocalExtraction extract(String resumeText) {
+        Matcher emailMatcher = EMAIL.matcher(resumeText);
+        String email = emailMatcher.find() ? emailMatcher.group() : "";
+
+        String phone = "";
+        Matcher phoneMatcher = PHONE.matcher(resumeText);
+        while (phoneMatcher.find()) {
+            long digits = phoneMatcher.group().chars().filter(Character::isDigit).count();
+            if (digits >= 10 && digits <= 15) {
+                phone = phoneMatcher.group().trim();
+                break;
+            }
+        }
+
+        Map<String, String> phrases = lexicon();
+        String name = extractName(resumeText, phrases);
+        List<String> skills = matchSkills(resumeText, phrases);
+
+        int points = (email.isEmpty() ? 0 : EMAIL_POINTS)
+                + (name.isEmpty() ? 0 : NAME_POINTS)
+                + (skills.isEmpty() ? 0 : catalogCoveragePoints(resumeText, phrases))
+                + (phone.isEmpty() ? 0 : PHONE_POINTS);
+
+        return new LocalExtraction(new GeminiService.CandidateInfo(name, email, skills), phone, points);
+    }
+
+    public ExtractionStats getStats() {
+        return new ExtractionStats(attempts.get(), resolved.get());
+    }
+
+    /**
+     * First run of 2-4 capitalized words in the header (the text before the first
+     * email/phone, or the first few words)
+     */
+    private String extractName(String resumeText, Map<String, String> phrases) {
+        int headerEnd = resumeText.length();
+        int newline = resumeText.indexOf('\n');
+        if (newline > 0) {
+            headerEnd = newline;
+        }
+        Matcher email = EMAIL.matcher(resumeText);
+        if (email.find()) {
+            headerEnd = Math.min(headerEnd, email.start());
+        }
+
+        String[] words = resumeText.substring(0, headerEnd).trim().split("\\s+");
+        List<String> run = new ArrayList<>();
+        for (int i = 0; i < Math.min(words.length, HEADER_WORDS); i++) {
+            String word = words[i];
+            boolean nameWord = NAME_WORD.matcher(word).matches()
+                    && !NOT_NAME_WORDS.contains(word.toLowerCase())
+                    && !phrases.containsKey(word.toLowerCase())
+                    // "JOHN SMITH Senior ..." - a name keeps one casing style
+                    && (run.isEmpty() || isInitial(word) || isUpperCase(run.get(0)) == isUpperCase(word));
+            if (nameWord) {
+                run.add(word);
+                if (run.size() == 4) {
+                    break;
+                }
+            } else if (run.size() >= 2) {
+                break;
+            } else {
+                run.clear();
+            }
+        }
+        return run.size() >= 2 ? String.join(" ", run) : "";
+    }
+
+    /**
+     * Skills points scaled by the share of the items listed under skills headers
+     * ("Skills:", "Technologies", ...) that the catalog recognizes; 0 when the resume
+     * has no such section
+     */
+    private int catalogCoveragePoints(String resumeText, Map<String, String> phrases) {
+        int items = 0;
+        int recognized = 0;
+        Matcher header = SKILLS_HEADER.matcher(resumeText);
+        while (header.find()) {
+            StringBuilder section = new StringBuilder(header.group(1) == null ? "" : header.group(1));
+            String[] following = resumeText.substring(header.end()).split("\n", SKILLS_SECTION_LINES + 2);
+            // following[0] is the rest of the header line
+            for (int i = 1; i < Math.min(following.length, SKILLS_SECTION_LINES + 1); i++) {
+                if (following[i].isBlank()) {
+                    break;
+                }
+                section.append('\n').append(following[i]);
+            }
+            for (String item : SKILL_ITEM_SEPARATORS.split(section)) {
+                List<String> words = tokenize(item);
+                if (words.isEmpty() || words.size() > MAX_SKILL_ITEM_WORDS) {
+                    continue;
+                }
+                items++;
+                if (!matchSkills(item, phrases).isEmpty()) {
+                    recognized++;
+                }
+            }
+        }
+        return items == 0 ? 0 : SKILLS_POINTS * recognized / items;
+    }
+
+    private static boolean isInitial(String word) {
+        return word.length() <= 2 && Character.isUpperCase(word.charAt(0));
+    }
+
+    private static boolean isUpperCase(String word) {
+        return !isInitial(word) && word.equals(word.toUpperCase());
+    }
+
+    /**
+     * Longest-match scan of 1-3 word phrases against the lexicon, in order of appearance.
+     * Aliases are reported under their canonical name.
+     */
+    private List<String> matchSkills(String resumeText, Map<String, String> phrases) {
+        List<String> tokens = tokenize(resumeText);
+        Set<String> found = new LinkedHashSet<>();
+        StringBuilder phrase = new StringBuilder();
+
+        for (int i = 0; i < tokens.size(); i++) {
+            for (int n = Math.min(MAX_PHRASE_WORDS, tokens.size() - i); n >= 1; n--) {
+                phrase.setLength(0);
+                for (int k = 0; k < n; k++) {
+                    if (k > 0) {
+                        phrase.append(' ');
+                    }
+                    phrase.append(tokens.get(i + k));
+                }
+                String skill = phrases.get(phrase.toString());
+                if (skill != null) {
+                    found.add(skill);
+                    i += n - 1;
+                    break;
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATORS.split(text.toLowerCase())) {
+            // Keep "node.js" and ".net", drop sentence punctuation
+            while (token.endsWith(".") || token.endsWith("!") || token.endsWith("?")) {
+                token = token.substring(0, token.length() - 1);
+            }
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static class Lexicon {
+        private final SkillCatalog.Snapshot source;
+        // Tokenized phrase -> canonical skill name
+        private final Map<String, String> phrases;
+
+        Lexicon(SkillCatalog.Snapshot source, Map<String, String> phrases) {
+            this.source = source;
+            this.phrases = phrases;
+        }
+    }
+
+    public static class LocalExtraction {
+        private final GeminiService.CandidateInfo info;
+        private final String phone;
+        private final int points;
+
+        public LocalExtraction(GeminiService.CandidateInfo info, String phone, int points) {
+            this.info = info;
+            this.phone = phone;
+            this.points = points;
+        }
+
+        public GeminiService.CandidateInfo getInfo() { return info; }
+        public String getPhone() { return phone; }
+        public int getPoints() { return points; }
+        public double getConfidence() { return points / 100.0; }
+    }
+
+    public static class ExtractionStats {
+        private final long attempts;
+        private final long resolvedLocally;
+
+        public ExtractionStats(long attempts, long resolvedLocally) {
+            this.attempts = attempts;
+            this.resolvedLocally = resolvedLocally;
+        }
+
+        public long getAttempts() { return attempts; }
+        public long getResolvedLocally() { return resolvedLocally; }
+        public long getSentToGemini() { return attempts - resolvedLocally; }
+
+        public double getLocalShare() {
+            return attempts == 0 ? 0.0 : (double) resolvedLocally / attempts;
+        }
+    }
+}
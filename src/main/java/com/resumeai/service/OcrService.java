@@ -0,0 +1,190 @@
+package com.resumeai.service;
+
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TessAPI1;
+import net.sourceforge.tess4j.util.ImageIOHelper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * OCR for scanned resumes. Pages are rendered with PDFBox at a DPI adapted to the
+ * page size and recognized in parallel on the OCR pool. Each pool thread keeps one
+ * initialized Tesseract engine, so the native engine is set up once per thread
+ * rather than once per page. Pages are processed in waves of one page per thread,
+ * stopping as soon as enough text has been recovered.
+ */
+@Service
+public class OcrService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OcrService.class);
+
+    @Autowired
+    @Qualifier("ocrExecutor")
+    private ExecutorService ocrExecutor;
+
+    @Value("${resume.ocr.datapath:}")
+    private String datapath;
+
+    @Value("${resume.ocr.language:eng}")
+    private String language;
+
+    // Render so the longer page side is about this many pixels (3300 = US letter at 300 DPI)
+    @Value("${resume.ocr.target-pixels:3300}")
+    private int targetPixels;
+
+    @Value("${resume.ocr.min-dpi:150}")
+    private int minDpi;
+
+    @Value("${resume.ocr.max-dpi:300}")
+    private int maxDpi;
+
+    // Stop rendering further pages once this much text has been recognized
+    @Value("${resume.ocr.enough-chars:4000}")
+    private int enoughChars;
+
+    // Engines live as long as their pool thread, i.e. for the lifetime of the application
+    private final ThreadLocal<Engine> engine = ThreadLocal.withInitial(() -> new Engine(datapath, language));
+
+    private volatile boolean unavailable;
+
+    /**
+     * OCR the first maxPages pages of a document without a text layer
+     * @return recognized text, at most maxChars characters; empty if OCR is unavailable
+     */
+    public String ocr(PDDocument document, String filename, int maxPages, int maxChars) {
+        if (unavailable) {
+            return "";
+        }
+        long start = System.nanoTime();
+        PDFRenderer renderer = new PDFRenderer(document);
+        int pages = Math.min(document.getNumberOfPages(), maxPages);
+        int wave = Math.max(1, poolSize());
+        StringBuilder text = new StringBuilder();
+        int page = 0;
+
+        try {
+            while (page < pages && text.length() < Math.min(enoughChars, maxChars)) {
+                // PDFRenderer is not thread-safe: render here, recognize on the pool
+                List<Future<String>> recognized = new ArrayList<>(wave);
+                for (int end = Math.min(pages, page + wave); page < end; page++) {
+                    int dpi = dpiFor(document.getPage(page).getMediaBox());
+                    BufferedImage image = renderer.renderImageWithDPI(page, dpi, ImageType.GRAY);
+                    recognized.add(ocrExecutor.submit(() -> engine.get().recognize(image, dpi)));
+                }
+                for (Future<String> pageText : recognized) {
+                    text.append(pageText.get().trim()).append('\n');
+                }
+            }
+        } catch (ExecutionException e) {
+            handleFailure(filename, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        } catch (IOException e) {
+            logger.error("Rendering failed for OCR of {}: {}", filename, e.getMessage());
+        }
+
+        logger.info("OCR of {} recovered {} chars from {} of {} pages in {} ms", filename, text.length(),
+                page, document.getNumberOfPages(), (System.nanoTime() - start) / 1_000_000);
+        return text.length() > maxChars ? text.substring(0, maxChars) : text.toString().trim();
+    }
+
+    /**
+     * OCR a single image (e.g. a scan saved with a .pdf name)
+     */
+    public String ocr(BufferedImage image, String filename) {
+        if (unavailable) {
+            return "";
+        }
+        BufferedImage gray = image;
+        if (image.getType() != BufferedImage.TYPE_BYTE_GRAY) {
+            gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+            gray.getGraphics().drawImage(image, 0, 0, null);
+        }
+        BufferedImage input = gray;
+        try {
+            return ocrExecutor.submit(() -> engine.get().recognize(input, 0)).get().trim();
+        } catch (ExecutionException e) {
+            handleFailure(filename, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "";
+    }
+
+    private int dpiFor(PDRectangle mediaBox) {
+        float longSideInches = Math.max(mediaBox.getWidth(), mediaBox.getHeight()) / 72f;
+        if (longSideInches <= 0) {
+            return maxDpi;
+        }
+        return Math.max(minDpi, Math.min(maxDpi, Math.round(targetPixels / longSideInches)));
+    }
+
+    private int poolSize() {
+        return ocrExecutor instanceof ThreadPoolExecutor
+                ? ((ThreadPoolExecutor) ocrExecutor).getMaximumPoolSize()
+                : 1;
+    }
+
+    private void handleFailure(String filename, Throwable cause) {
+        if (cause instanceof LinkageError || cause instanceof IllegalStateException) {
+            // No native Tesseract or language data on this host; don't keep trying for every file
+            unavailable = true;
+            logger.error("OCR disabled, Tesseract could not be initialized: {}", cause.getMessage());
+        } else {
+            logger.error("OCR failed for file {}: {}", filename, cause.getMessage());
+        }
+    }
+
+    /**
+     * One native Tesseract handle, confined to a single pool thread
+     */
+    private static final class Engine {
+        private final ITessAPI.TessBaseAPI handle;
+
+        Engine(String datapath, String language) {
+            handle = TessAPI1.TessBaseAPICreate();
+            if (TessAPI1.TessBaseAPIInit3(handle, datapath.isBlank() ? null : datapath, language) != 0) {
+                TessAPI1.TessBaseAPIDelete(handle);
+                throw new IllegalStateException("Could not initialize Tesseract for language " + language);
+            }
+            TessAPI1.TessBaseAPISetPageSegMode(handle, ITessAPI.TessPageSegMode.PSM_AUTO);
+        }
+
+        /**
+         * @param image an 8-bit grayscale image
+         */
+        String recognize(BufferedImage image, int dpi) {
+            TessAPI1.TessBaseAPISetImage(handle, ImageIOHelper.convertImageData(image),
+                    image.getWidth(), image.getHeight(), 1, image.getWidth());
+            if (dpi > 0) {
+                TessAPI1.TessBaseAPISetSourceResolution(handle, dpi);
+            }
+            Pointer text = TessAPI1.TessBaseAPIGetUTF8Text(handle);
+            try {
+                return text == null ? "" : text.getString(0, StandardCharsets.UTF_8.name());
+            } finally {
+                if (text != null) {
+                    TessAPI1.TessDeleteText(text);
+                }
+                TessAPI1.TessBaseAPIClear(handle);
+            }
+        }
+    }
+}
@@ -1,59 +1,172 @@
 package com.resumeai.service;
 
-import net.sourceforge.tess4j.ITesseract;
-import net.sourceforge.tess4j.Tesseract;
+import com.resumeai.util.PathMultipartFile;
+import com.resumeai.util.TextNormalizer;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Service
 public class PDFService {
 
     private static final Logger logger =  LoggerFactory.getLogger(PDFService.class);
 
+    @Autowired
+    private OcrService ocrService;
+
+    @Autowired
+    @Qualifier("pdfPageExecutor")
+    private ExecutorService pdfPageExecutor;
+
+    // PDFBox keeps at most this much of a document's data on the heap, the rest in a temp file
+    @Value("${resume.pdf.max-main-memory-mb:4}")
+    private long maxMainMemoryMb;
+
+    @Value("${resume.pdf.max-pages:20}")
+    private int maxPages;
+
+    @Value("${resume.pdf.max-chars:100000}")
+    private int maxChars;
+
+    @Value("${resume.pdf.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    // Documents with at least this many (capped) pages are stripped in page ranges concurrently
+    @Value("${resume.pdf.parallel.min-pages:12}")
+    private int parallelMinPages;
+
+    @Value("${resume.pdf.parallel.min-pages-per-range:4}")
+    private int minPagesPerRange;
+
+    /**
+     * Extract text from a PDF on disk with bounded heap use. Uploads that are not
+     * already file-backed are spooled to a temp file first; the same file (and the
+     * same loaded document) serves both the text and the OCR path.
+     */
     public String extractTextFromPDF(MultipartFile pdfFile) throws IOException {
+        if (pdfFile instanceof PathMultipartFile) {
+            return extractTextFromPDF(((PathMultipartFile) pdfFile).getPath().toFile(), pdfFile.getOriginalFilename());
+        }
+        PathMultipartFile spooled = PathMultipartFile.spool(pdfFile);
+        try {
+            return extractTextFromPDF(spooled.getPath().toFile(), pdfFile.getOriginalFilename());
+        } finally {
+            spooled.release();
+        }
+    }
+
+    private String extractTextFromPDF(File file, String filename) {
         String text = "";
-        try (PDDocument document = PDDocument.load(pdfFile.getInputStream())) {
-            if (document.isEncrypted()) {
-                document.setAllSecurityToBeRemoved(true);
+        try (PDDocument document = load(file)) {
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+            if (parallelEnabled && pages >= parallelMinPages) {
+                text = stripInParallel(file, document, pages, filename).trim();
+            } else {
+                text = strip(document, 1, pages).trim();
+            }
+
+            if (text.isBlank()) {
+                text = ocrService.ocr(document, filename, maxPages, maxChars);
             }
-            PDFTextStripper stripper = new PDFTextStripper();
-            text = stripper.getText(document).trim();
         } catch (IOException e) {
-            logger.warn("PDF parsing failed for {}: {} => falling back to OCR.", pdfFile.getOriginalFilename(), e.getMessage());
-        }
-        if (text.isBlank()) {
-            text = performOCR(pdfFile);
+            logger.warn("PDF parsing failed for {}: {} => falling back to OCR.", filename, e.getMessage());
+            text = performOCR(file, filename);
         }
-        return cleanText(text);
+        return TextNormalizer.normalize(text);
     }
 
-    private String performOCR(MultipartFile file) {
+    /**
+     * Strip page ranges concurrently, each from its own copy of the document (PDFBox
+     * documents are not thread-safe), and join them in page order. The first range
+     * runs on the calling thread with the already-open document.
+     */
+    private String stripInParallel(File file, PDDocument document, int pages, String filename) throws IOException {
+        int threads = pdfPageExecutor instanceof ThreadPoolExecutor
+                ? ((ThreadPoolExecutor) pdfPageExecutor).getMaximumPoolSize() + 1
+                : 1;
+        int ranges = Math.max(1, Math.min(threads, pages / Math.max(1, minPagesPerRange)));
+        int rangeSize = (pages + ranges - 1) / ranges;
+
+        List<Future<String>> rest = new ArrayList<>(ranges - 1);
+        for (int start = 1 + rangeSize; start <= pages; start += rangeSize) {
+            int first = start;
+            int last = Math.min(pages, start + rangeSize - 1);
+            rest.add(pdfPageExecutor.submit(() -> {
+                try (PDDocument copy = load(file)) {
+                    return strip(copy, first, last);
+                }
+            }));
+        }
+
+        StringBuilder text;
         try {
-            ITesseract tesseract = new Tesseract();
-            // set datapath if needed: tessdata folder
-            BufferedImage image = ImageIO.read(file.getInputStream());
-            String ocrResult = tesseract.doOCR(image);
-            return ocrResult != null ? ocrResult.trim() : "";
-        } catch (Exception ex) {
-            logger.error("OCR failed for file {}: {}", file.getOriginalFilename(), ex.getMessage());
-            return "";
+            text = new StringBuilder(strip(document, 1, Math.min(pages, rangeSize)));
+            for (Future<String> range : rest) {
+                text.append(range.get());
+            }
+        } catch (ExecutionException e) {
+            // The other copies would keep loading and stripping alongside the serial pass
+            rest.forEach(range -> range.cancel(true));
+            logger.warn("Parallel extraction failed for {}: {}, extracting serially", filename, e.getCause().getMessage());
+            return strip(document, 1, pages);
+        } catch (InterruptedException e) {
+            rest.forEach(range -> range.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting " + filename, e);
+        } catch (IOException | RuntimeException e) {
+            rest.forEach(range -> range.cancel(true));
+            throw e;
         }
+        return text.length() > maxChars ? text.substring(0, maxChars) : text.toString();
     }
 
-    private String cleanText(String raw) {
-        String cleaned = raw
-                .replaceAll("[\\r\\n]+", " ")
-                .replaceAll("\\s{2,}", " ")
-                .trim();
-        return cleaned.length() > 0 ? cleaned : "";
+    private String strip(PDDocument document, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        LimitedWriter writer = new LimitedWriter(maxChars);
+        stripper.writeText(document, writer);
+        return writer.toString();
+    }
+
+    private PDDocument load(File file) throws IOException {
+        PDDocument document = PDDocument.load(file, MemoryUsageSetting.setupMixed(maxMainMemoryMb * 1024 * 1024));
+        if (document.isEncrypted()) {
+            document.setAllSecurityToBeRemoved(true);
+        }
+        return document;
+    }
+
+    /**
+     * OCR a file PDFBox could not open (e.g. an image saved with a .pdf name)
+     */
+    private String performOCR(File file, String filename) {
+        try {
+            BufferedImage image = ImageIO.read(file);
+            return image == null ? "" : ocrService.ocr(image, filename);
+        } catch (IOException ex) {
+            logger.error("OCR failed for file {}: {}", filename, ex.getMessage());
+            return "";
+        }
     }
 
     public void validatePDFFile(MultipartFile pdfFile) {
@@ -62,4 +175,43 @@ public class PDFService {
             throw new IllegalArgumentException("Only PDF allowed");
         if (pdfFile.getSize() > 10 * 1024 * 1024L) throw new IllegalArgumentException("Max size 10MB");
     }
+
+    /**
+     * Writer that keeps the first maxChars characters and drops the rest
+     */
+    private static class LimitedWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private final int maxChars;
+
+        LimitedWriter(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            int room = maxChars - buffer.length();
+            if (room > 0) {
+                buffer.append(chars, offset, Math.min(room, length));
+            }
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            int room = maxChars - buffer.length();
+            if (room > 0) {
+                buffer.append(str, offset, offset + Math.min(room, length));
+            }
+        }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
 }
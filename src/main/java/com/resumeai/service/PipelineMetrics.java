@@ -0,0 +1,161 @@
+package com.resumeai.service;
+
+import com.resumeai.util.LatencyHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and heap allocation per screening stage. Each stage keeps a latency
+ * histogram; stages that start and stop on the same thread also record the bytes
+ * that thread allocated in between. Served at /api/pipeline/metrics and read by
+ * the load test harness.
+ */
+@Service
+public class PipelineMetrics {
+
+    public enum Stage {
+        // SHA-256 of an upload for duplicate detection
+        HASH,
+        // PDF validation and text extraction, duplicate lookups
+        PARSE,
+        // Name/email/skills extraction (local, cached or Gemini); per request in batch mode
+        EXTRACT,
+        // Skill matching and relevance scoring
+        SCORE,
+        // Writing a chunk of candidates, including waiting for the writer
+        SAVE,
+        // One SMTP batch from the email outbox
+        EMAIL,
+        // A whole screening batch, from the first file to the ranked result
+        BATCH
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    @Value("${resume.metrics.pipeline.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Stage, StageTimer> timers = new EnumMap<>(Stage.class);
+
+    {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, new StageTimer());
+        }
+    }
+
+    /**
+     * @return a sample to pass to {@link #stop}, or null when metrics are disabled
+     */
+    public Sample start() {
+        if (!enabled) {
+            return null;
+        }
+        return new Sample(System.nanoTime(), Thread.currentThread().getId(), allocatedBytes());
+    }
+
+    public void stop(Stage stage, Sample sample) {
+        if (sample == null) {
+            return;
+        }
+        StageTimer timer = timers.get(stage);
+        timer.latency.record(System.nanoTime() - sample.startedAt);
+        if (sample.allocatedBytes >= 0 && sample.threadId == Thread.currentThread().getId()) {
+            timer.allocatedBytes.addAndGet(allocatedBytes() - sample.allocatedBytes);
+            timer.allocationSamples.incrementAndGet();
+        }
+    }
+
+    public Map<Stage, StageStats> getStats() {
+        Map<Stage, StageStats> stats = new EnumMap<>(Stage.class);
+        timers.forEach((stage, timer) -> stats.put(stage, timer.toStats()));
+        return stats;
+    }
+
+    public void reset() {
+        timers.values().forEach(StageTimer::reset);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    public static final class Sample {
+        private final long startedAt;
+        private final long threadId;
+        private final long allocatedBytes;
+
+        private Sample(long startedAt, long threadId, long allocatedBytes) {
+            this.startedAt = startedAt;
+            this.threadId = threadId;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    private static final class StageTimer {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+        private final AtomicLong allocationSamples = new AtomicLong();
+
+        StageStats toStats() {
+            long samples = allocationSamples.get();
+            return new StageStats(latency.getCount(), latency.getSum() / 1e6, latency.getMean() / 1e6,
+                    latency.getPercentile(50) / 1e6, latency.getPercentile(95) / 1e6,
+                    latency.getPercentile(99) / 1e6, latency.getMax() / 1e6,
+                    samples == 0 ? -1 : allocatedBytes.get() / samples);
+        }
+
+        void reset() {
+            latency.reset();
+            allocatedBytes.set(0);
+            allocationSamples.set(0);
+        }
+    }
+
+    public static class StageStats {
+        private final long count;
+        private final double totalMs;
+        private final double meanMs;
+        private final double p50Ms;
+        private final double p95Ms;
+        private final double p99Ms;
+        private final double maxMs;
+        private final long allocatedBytesPerOp;
+
+        public StageStats(long count, double totalMs, double meanMs, double p50Ms, double p95Ms, double p99Ms,
+                          double maxMs, long allocatedBytesPerOp) {
+            this.count = count;
+            this.totalMs = totalMs;
+            this.meanMs = meanMs;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+            this.allocatedBytesPerOp = allocatedBytesPerOp;
+        }
+
+        public long getCount() { return count; }
+        public double getTotalMs() { return totalMs; }
+        public double getMeanMs() { return meanMs; }
+        public double getP50Ms() { return p50Ms; }
+        public double getP95Ms() { return p95Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public double getMaxMs() { return maxMs; }
+        // -1 when thread allocation tracking is unavailable or the stage spans threads
+        public long getAllocatedBytesPerOp() { return allocatedBytesPerOp; }
+    }
+}
@@ -0,0 +1,99 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import com.resumeai.repository.CandidateRepository;
+import com.resumeai.util.Bm25Index;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * BM25 relevance scoring of job descriptions against the full text of every
+ * processed resume. The index lives in memory next to the candidates table and is
+ * filled as candidates are saved.
+ */
+@Service
+public class RelevanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelevanceService.class);
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Value("${resume.scoring.bm25.k1:1.2}")
+    private double k1;
+
+    @Value("${resume.scoring.bm25.b:0.75}")
+    private double b;
+
+    private Bm25Index index;
+
+    @PostConstruct
+    public void init() {
+        index = new Bm25Index(k1, b);
+    }
+
+    public Bm25Index.Query compileQuery(String jobDescription) {
+        return Bm25Index.query(jobDescription);
+    }
+
+    /**
+     * Score a resume that has not been indexed yet (0-100, relative to the current pool)
+     */
+    public double score(Bm25Index.Query query, Bm25Index.Document resume) {
+        return index.score(query, resume);
+    }
+
+    public void index(Candidate candidate, Bm25Index.Document resume) {
+        index.add(candidate.getId(), resume);
+    }
+
+    /**
+     * Rank the whole stored pool against a job description without re-running the pipeline
+     */
+    public List<RankedCandidate> rank(String jobDescription, int limit) {
+        long start = System.nanoTime();
+        List<Bm25Index.Hit> hits = index.top(compileQuery(jobDescription), limit);
+
+        List<Long> ids = new ArrayList<>(hits.size());
+        hits.forEach(hit -> ids.add(hit.getKey()));
+        Map<Long, Candidate> candidates = new HashMap<>();
+        candidateRepository.findAllById(ids).forEach(c -> candidates.put(c.getId(), c));
+
+        List<RankedCandidate> ranked = new ArrayList<>(hits.size());
+        for (Bm25Index.Hit hit : hits) {
+            Candidate candidate = candidates.get(hit.getKey());
+            if (candidate != null) {
+                ranked.add(new RankedCandidate(candidate, hit.getScore()));
+            }
+        }
+        logger.info("Ranked {} indexed resumes in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+        return ranked;
+    }
+
+    public int getIndexedCount() {
+        return index.size();
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    public static class RankedCandidate {
+        private final Candidate candidate;
+        private final double relevance;
+
+        public RankedCandidate(Candidate candidate, double relevance) {
+            this.candidate = candidate;
+            this.relevance = relevance;
+        }
+
+        public Candidate getCandidate() { return candidate; }
+        public double getRelevance() { return relevance; }
+    }
+}
@@ -0,0 +1,210 @@
+package com.resumeai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks normalized resume text before it goes into an extraction prompt: drops
+ * page numbers, repeated lines (running headers/footers), link-only and other
+ * contact-noise lines, and low-value sections, then trims the lowest-priority
+ * sections until the text fits the token budget. The header and skills sections
+ * are trimmed last since name, email and skills are what the prompt asks for.
+ */
+@Service
+public class ResumeCompactor {
+
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "(?i)(page\\s*)?\\d{1,3}(\\s*(of|/)\\s*\\d{1,3})?|-\\s*\\d{1,3}\\s*-");
+    private static final Pattern LINK_ONLY = Pattern.compile(
+            "(?i)((https?://|www\\.)\\S+|\\S+\\.(com|io|me|dev|org|net)/\\S*)([\\s|,;•·-]+((https?://|www\\.)\\S+|\\S+\\.(com|io|me|dev|org|net)/\\S*))*");
+
+    private static final int MAX_HEADING_LENGTH = 40;
+
+    @Value("${resume.compaction.enabled:true}")
+    private boolean enabled;
+
+    // Approximate prompt tokens (4 chars each) allowed for one resume
+    @Value("${resume.compaction.token-budget:3000}")
+    private int tokenBudget;
+
+    enum Section {
+        HEADER(0), SKILLS(0), SUMMARY(1), EXPERIENCE(2), PROJECTS(3), CERTIFICATIONS(3), EDUCATION(4),
+        OTHER(5), DROPPED(-1);
+
+        // Lower keeps longer when trimming to the budget; -1 is removed outright
+        final int priority;
+
+        Section(int priority) {
+            this.priority = priority;
+        }
+    }
+
+    private static final Map<String, Section> HEADINGS = new HashMap<>();
+
+    static {
+        // Contact details often sit under their own heading rather than at the top
+        heading(Section.HEADER, "personal details", "personal information", "contact", "contact details",
+                "contact information");
+        heading(Section.SKILLS, "skills", "technical skills", "key skills", "core skills", "core competencies",
+                "competencies", "technologies", "tech stack", "tools", "tools and technologies", "expertise",
+                "areas of expertise", "skills and tools", "technical expertise", "languages",
+                "programming languages");
+        heading(Section.SUMMARY, "summary", "professional summary", "profile", "professional profile", "about",
+                "about me", "objective", "career objective", "career summary");
+        heading(Section.EXPERIENCE, "experience", "work experience", "professional experience", "employment",
+                "employment history", "work history", "career history", "internships", "internship");
+        heading(Section.PROJECTS, "projects", "personal projects", "key projects", "academic projects");
+        heading(Section.CERTIFICATIONS, "certifications", "certificates", "licenses", "courses", "training");
+        heading(Section.EDUCATION, "education", "academic background", "qualifications", "academics");
+        heading(Section.OTHER, "publications", "awards", "achievements", "honors", "volunteering",
+                "activities", "research");
+        heading(Section.DROPPED, "references", "hobbies", "interests", "hobbies and interests", "declaration");
+    }
+
+    private static void heading(Section section, String... titles) {
+        for (String title : titles) {
+            HEADINGS.put(title, section);
+        }
+    }
+
+    /**
+     * @param text output of {@link com.resumeai.util.TextNormalizer#normalize}
+     */
+    public String compact(String text) {
+        if (!enabled || text.isEmpty()) {
+            return text;
+        }
+
+        List<String> kept = new ArrayList<>();
+        List<Section> sections = new ArrayList<>();
+        BitSet headings = new BitSet();
+        Set<String> seen = new HashSet<>();
+        Section current = Section.HEADER;
+
+        for (String line : text.split("\n")) {
+            Section heading = headingOf(line);
+            if (heading != null) {
+                current = heading;
+                if (current != Section.DROPPED) {
+                    headings.set(kept.size());
+                    kept.add(line);
+                    sections.add(current);
+                }
+                continue;
+            }
+            if (current == Section.DROPPED) {
+                continue;
+            }
+            if (line.indexOf('@') < 0 && isNoise(line)) {
+                continue;
+            }
+            // Repeated lines are running headers/footers or copy-paste duplicates
+            if (!seen.add(line.toLowerCase())) {
+                continue;
+            }
+            kept.add(line);
+            sections.add(current);
+        }
+
+        return fitToBudget(kept, sections, headings);
+    }
+
+    /**
+     * Tokens the compacted text of a resume will use in a prompt, at most the budget
+     */
+    public int estimateTokens(String text) {
+        int tokens = text.length() / 4 + 1;
+        return enabled ? Math.min(tokens, tokenBudget) : tokens;
+    }
+
+    /**
+     * Drop whole lines from the end of the lowest-priority sections until the text fits
+     */
+    private String fitToBudget(List<String> lines, List<Section> sections, BitSet headings) {
+        int maxChars = tokenBudget * 4;
+        int total = 0;
+        for (String line : lines) {
+            total += line.length() + 1;
+        }
+
+        boolean[] removed = new boolean[lines.size()];
+        for (int priority = Section.OTHER.priority; priority >= 0 && total > maxChars; priority--) {
+            for (int i = lines.size() - 1; i >= 0 && total > maxChars; i--) {
+                // Lines with an email address are never trimmed
+                if (sections.get(i).priority == priority && !headings.get(i) && lines.get(i).indexOf('@') < 0) {
+                    removed[i] = true;
+                    total -= lines.get(i).length() + 1;
+                }
+            }
+        }
+
+        StringBuilder out = new StringBuilder(Math.min(total, maxChars) + 16);
+        for (int i = 0; i < lines.size(); i++) {
+            if (removed[i] || (headings.get(i) && isEmptySection(lines.size(), headings, removed, i))) {
+                continue;
+            }
+            if (out.length() > 0) {
+                out.append('\n');
+            }
+            out.append(lines.get(i));
+        }
+        // A single oversized line can still exceed the budget
+        return out.length() > maxChars ? out.substring(0, maxChars) : out.toString();
+    }
+
+    private static boolean isEmptySection(int lines, BitSet headings, boolean[] removed, int heading) {
+        for (int i = heading + 1; i < lines && !headings.get(i); i++) {
+            if (!removed[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Section headingOf(String line) {
+        if (line.length() > MAX_HEADING_LENGTH) {
+            return null;
+        }
+        // "TECHNICAL SKILLS:", "Hobbies & Interests" -> "technical skills", "hobbies and interests"
+        StringBuilder key = new StringBuilder(line.length() + 4);
+        boolean separator = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (Character.isLetter(c) || c == '&') {
+                if (separator && key.length() > 0) {
+                    key.append(' ');
+                }
+                separator = false;
+                if (c == '&') {
+                    key.append("and");
+                    separator = true;
+                } else {
+                    key.append(Character.toLowerCase(c));
+                }
+            } else {
+                separator = true;
+            }
+        }
+        return HEADINGS.get(key.toString());
+    }
+
+    /**
+     * Page numbers, separator rules, link-only lines and short lines that are mostly
+     * digits and punctuation (phone/fax numbers, bare dates)
+     */
+    private static boolean isNoise(String line) {
+        if (PAGE_NUMBER.matcher(line).matches() || LINK_ONLY.matcher(line).matches()) {
+            return true;
+        }
+        int letters = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (Character.isLetter(line.charAt(i))) {
+                letters++;
+            }
+        }
+        return letters == 0 || (letters * 4 < line.length() && line.length() < 40);
+    }
+}
@@ -0,0 +1,223 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import com.resumeai.model.ResumeFingerprint;
+import com.resumeai.repository.ResumeFingerprintRepository;
+import com.resumeai.util.MinHashIndex;
+import com.resumeai.util.PathMultipartFile;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Exact and near-duplicate resume detection. Uploads are hashed (SHA-256 of the
+ * raw bytes) before parsing, so a file seen before skips PDF extraction and
+ * Gemini entirely. Parsed text gets a MinHash signature; a resume whose text is
+ * nearly identical to one already processed (re-exported PDF, small edits) reuses
+ * that resume's extraction as long as the email address matches.
+ */
+@Service
+public class ResumeDedupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeDedupService.class);
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+
+    @Autowired
+    private ResumeFingerprintRepository fingerprintRepository;
+
+    @Value("${resume.dedup.enabled:true}")
+    private boolean enabled;
+
+    // Estimated Jaccard similarity of word 3-grams above which texts count as the same resume
+    @Value("${resume.dedup.near-duplicate-threshold:0.85}")
+    private double nearDuplicateThreshold;
+
+    private final Map<String, Long> hashes = new ConcurrentHashMap<>();
+    private final MinHashIndex index = new MinHashIndex();
+
+    private final AtomicLong exactHits = new AtomicLong();
+    private final AtomicLong nearHits = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        for (Object[] row : fingerprintRepository.findAllSignatures()) {
+            long id = (Long) row[0];
+            hashes.put((String) row[1], id);
+            index.add(id, MinHashIndex.fromBytes((byte[]) row[2]));
+        }
+        logger.info("Loaded {} resume fingerprints", hashes.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hex SHA-256 of the uploaded bytes. Files on disk are memory-mapped, other
+     * uploads read as a stream.
+     */
+    public String contentHash(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        if (file instanceof PathMultipartFile) {
+            try (FileChannel channel = FileChannel.open(((PathMultipartFile) file).getPath(), StandardOpenOption.READ)) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return the earlier result for byte-identical uploads, if any
+     */
+    public Optional<Match> findExact(String contentHash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Long id = hashes.get(contentHash);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<Match> match = fingerprintRepository.findById(id).map(ResumeDedupService::toMatch);
+        match.ifPresent(m -> exactHits.incrementAndGet());
+        return match;
+    }
+
+    /**
+     * @return the extraction of a near-identical resume for the same email address, if any
+     */
+    public Optional<Match> findNear(String resumeText, int[] signature) {
+        if (!enabled || signature == null) {
+            return Optional.empty();
+        }
+        long id = index.findSimilar(signature, nearDuplicateThreshold);
+        if (id < 0) {
+            return Optional.empty();
+        }
+        Optional<Match> match = fingerprintRepository.findById(id).map(ResumeDedupService::toMatch);
+        if (match.isEmpty()) {
+            return match;
+        }
+        // Shared templates can be near-identical across people: require the same address,
+        // and without one in the text there is no telling whose resume this is
+        Matcher email = EMAIL.matcher(resumeText);
+        String found = email.find() ? Candidate.normalizeEmail(email.group()) : null;
+        if (found == null || !found.equals(Candidate.normalizeEmail(match.get().getInfo().getEmail()))) {
+            return Optional.empty();
+        }
+        nearHits.incrementAndGet();
+        return match;
+    }
+
+    public int[] signature(String resumeText) {
+        return enabled ? MinHashIndex.signature(resumeText) : null;
+    }
+
+    /**
+     * Fingerprint recording a processed resume, or null if there is nothing new to
+     * remember. Saved with the candidate by {@link CandidateWriter}.
+     */
+    public ResumeFingerprint fingerprint(String contentHash, String resumeText, int[] signature,
+                                         GeminiService.CandidateInfo info) {
+        if (!enabled || contentHash == null || signature == null || hashes.containsKey(contentHash)) {
+            return null;
+        }
+        return new ResumeFingerprint(contentHash, MinHashIndex.toBytes(signature),
+                resumeText, info.getName(), info.getEmail(), String.join("\n", info.getSkills()));
+    }
+
+    /**
+     * Save fingerprints in the caller's transaction, skipping hashes already known
+     * or repeated in the list
+     * @return the fingerprints saved; pass them to {@link #registerAll} after commit
+     */
+    public List<ResumeFingerprint> saveAll(List<ResumeFingerprint> fingerprints) {
+        Map<String, ResumeFingerprint> byHash = new LinkedHashMap<>();
+        for (ResumeFingerprint fingerprint : fingerprints) {
+            if (!hashes.containsKey(fingerprint.getContentHash())) {
+                byHash.putIfAbsent(fingerprint.getContentHash(), fingerprint);
+            }
+        }
+        return byHash.isEmpty() ? List.of() : fingerprintRepository.saveAll(byHash.values());
+    }
+
+    /**
+     * Make committed fingerprints available to later uploads
+     */
+    public void registerAll(List<ResumeFingerprint> fingerprints) {
+        for (ResumeFingerprint fingerprint : fingerprints) {
+            hashes.put(fingerprint.getContentHash(), fingerprint.getId());
+            index.add(fingerprint.getId(), MinHashIndex.fromBytes(fingerprint.getSignature()));
+        }
+    }
+
+    public DedupStats getStats() {
+        return new DedupStats(hashes.size(), exactHits.get(), nearHits.get());
+    }
+
+    private static Match toMatch(ResumeFingerprint fingerprint) {
+        List<String> skills = fingerprint.getSkills() == null || fingerprint.getSkills().isEmpty()
+                ? List.of()
+                : Arrays.asList(fingerprint.getSkills().split("\n"));
+        return new Match(fingerprint.getResumeText(),
+                new GeminiService.CandidateInfo(fingerprint.getName(), fingerprint.getEmail(), skills));
+    }
+
+    public static class Match {
+        private final String resumeText;
+        private final GeminiService.CandidateInfo info;
+
+        public Match(String resumeText, GeminiService.CandidateInfo info) {
+            this.resumeText = resumeText;
+            this.info = info;
+        }
+
+        public String getResumeText() { return resumeText; }
+        public GeminiService.CandidateInfo getInfo() { return info; }
+    }
+
+    public static class DedupStats {
+        private final long fingerprints;
+        private final long exactDuplicates;
+        private final long nearDuplicates;
+
+        public DedupStats(long fingerprints, long exactDuplicates, long nearDuplicates) {
+            this.fingerprints = fingerprints;
+            this.exactDuplicates = exactDuplicates;
+            this.nearDuplicates = nearDuplicates;
+        }
+
+        public long getFingerprints() { return fingerprints; }
+        public long getExactDuplicates() { return exactDuplicates; }
+        public long getNearDuplicates() { return nearDuplicates; }
+    }
+}
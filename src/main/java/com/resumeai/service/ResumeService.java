@@ -1,13 +1,28 @@
 package com.resumeai.service;
 import com.resumeai.model.Candidate;
 import com.resumeai.repository.CandidateRepository;
+import com.resumeai.util.Bm25Index;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Main service class for resume screening functionality
@@ -29,78 +44,465 @@ public class ResumeService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private EmailOutboxService emailOutbox;
+
     @Autowired
     private CandidateRepository candidateRepository;
 
+    @Autowired
+    private SkillCatalog skillCatalog;
+
+    @Autowired
+    private RelevanceService relevanceService;
+
+    @Autowired
+    private ResumeDedupService dedupService;
+
+    @Autowired
+    private CandidateStatsService candidateStats;
+
+    @Autowired
+    private CandidateReadCache readCache;
+
+    @Autowired
+    private CandidateWriter candidateWriter;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate exportTransaction;
+
+    @Autowired
+    @Qualifier("pdfExecutor")
+    private ExecutorService pdfExecutor;
+
+    @Autowired
+    @Qualifier("llmExecutor")
+    private ExecutorService llmExecutor;
+
+    @Value("${resume.pipeline.concurrent:true}")
+    private boolean concurrentPipeline;
+
+    @Value("${resume.pipeline.batch-extraction:false}")
+    private boolean batchExtraction;
+
+    // "skills" (matched / required skills) or "bm25" (full-text relevance against the indexed pool)
+    @Value("${resume.scoring.strategy:skills}")
+    private String scoringStrategy;
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        exportTransaction = new TransactionTemplate(transactionManager);
+        exportTransaction.setReadOnly(true);
+    }
+
     /**
      * Process job description and resumes to generate candidate rankings
      */
     public List<Candidate> processResumes(String jobDescription, MultipartFile[] resumeFiles) {
+        return processResumes(jobDescription, resumeFiles, ProgressListener.NONE);
+    }
+
+    /**
+     * Same as {@link #processResumes(String, MultipartFile[])}, reporting each file as it completes
+     */
+    public List<Candidate> processResumes(String jobDescription, MultipartFile[] resumeFiles,
+                                          ProgressListener listener) {
         logger.info("Starting resume processing with {} resume files", resumeFiles.length);
+        PipelineMetrics.Sample batchSample = metrics.start();
+
+        JobCriteria criteria = compileCriteria(jobDescription);
+
+        List<ResumeInput> inputs = prepareInputs(resumeFiles, listener);
+        List<Candidate> candidates;
+        if (batchExtraction && inputs.size() > 1) {
+            candidates = processBatched(criteria, inputs, listener);
+        } else if (concurrentPipeline && inputs.size() > 1) {
+            candidates = processConcurrently(criteria, inputs, listener);
+        } else {
+            candidates = processSequentially(criteria, inputs, listener);
+        }
+        candidates = finishBatch(candidates);
+        metrics.stop(PipelineMetrics.Stage.BATCH, batchSample);
+        return candidates;
+    }
 
+    /**
+     * Start a batch whose files arrive one at a time (e.g. entries of an archive that
+     * is still uploading). Each submitted file goes straight into the concurrent
+     * pipeline; {@link Batch#close()} completes once all of them are screened.
+     */
+    public Batch openBatch(String jobDescription, ProgressListener listener) {
+        return new Batch(compileCriteria(jobDescription), listener);
+    }
+
+    private JobCriteria compileCriteria(String jobDescription) {
         // Extract skills from job description using GEMINI
         List<String> jdSkills = OllamaService.extractSkillsFromJD(jobDescription);
         logger.info("Extracted {} skills from job description: {}", jdSkills.size(), jdSkills);
+        return new JobCriteria(skillCatalog.compile(jdSkills), relevanceService.compileQuery(jobDescription));
+    }
 
-        List<Candidate> candidates = new ArrayList<>();
+    private List<Candidate> finishBatch(List<Candidate> candidates) {
+        // Files for the same email address were upserted into one row; keep its final state
+        candidates = distinctById(candidates);
+
+        // Queue emails to ALL candidates (shortlist + rejection); sent in the background
+        sendEmailsToAllCandidates(candidates);
+
+        // Sort by match score descending
+        candidates.sort((c1, c2) -> Double.compare(c2.getMatchScore(), c1.getMatchScore()));
+        logger.info("Finished processing {} candidates", candidates.size());
+
+        return candidates;
+    }
 
+    /**
+     * Hash every upload up front and skip byte-identical copies within the batch
+     */
+    private List<ResumeInput> prepareInputs(MultipartFile[] resumeFiles, ProgressListener listener) {
+        List<ResumeInput> inputs = new ArrayList<>(resumeFiles.length);
+        Set<String> seen = new HashSet<>();
         for (MultipartFile resumeFile : resumeFiles) {
+            ResumeInput input = prepareInput(resumeFile, seen, listener);
+            if (input != null) {
+                inputs.add(input);
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * @return null if the file is a byte-identical copy of one already in the batch
+     */
+    private ResumeInput prepareInput(MultipartFile resumeFile, Set<String> seen, ProgressListener listener) {
+        String hash = null;
+        if (dedupService.isEnabled() && !resumeFile.isEmpty()) {
+            PipelineMetrics.Sample sample = metrics.start();
             try {
-                if (resumeFile.isEmpty()) {
-                    logger.warn("Skipping empty resume file");
-                    continue;
+                hash = dedupService.contentHash(resumeFile);
+            } catch (IOException e) {
+                logger.warn("Could not hash {}: {}", resumeFile.getOriginalFilename(), e.getMessage());
+            }
+            metrics.stop(PipelineMetrics.Stage.HASH, sample);
+            if (hash != null && !seen.add(hash)) {
+                logger.info("Skipping duplicate upload: {}", resumeFile.getOriginalFilename());
+                try {
+                    listener.duplicateSkipped(resumeFile.getOriginalFilename());
+                } catch (Exception e) {
+                    logger.warn("Progress listener failed for {}: {}", resumeFile.getOriginalFilename(), e.getMessage());
                 }
+                return null;
+            }
+        }
+        return new ResumeInput(resumeFile, hash);
+    }
 
-                logger.info("Processing resume: {}", resumeFile.getOriginalFilename());
+    private List<Candidate> processSequentially(JobCriteria criteria, List<ResumeInput> inputs,
+                                                ProgressListener listener) {
+        List<Candidate> candidates = new ArrayList<>();
 
-                // Validate PDF
-                pdfService.validatePDFFile(resumeFile);
+        for (ResumeInput input : inputs) {
+            try {
+                readResume(input);
+                Candidate candidate = scoreResume(criteria, input);
+                report(listener, input, candidate);
+                if (candidate != null) {
+                    candidates.add(candidate);
+                }
+            } catch (Exception e) {
+                logger.error("Error processing resume: {}", input.file.getOriginalFilename(), e);
+                report(listener, input, null);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * PDF parsing runs on the CPU-sized pool, Gemini calls on the bounded LLM pool.
+     * Results are collected in upload order so the final (stable) ranking matches
+     * the sequential path.
+     */
+    private List<Candidate> processConcurrently(JobCriteria criteria, List<ResumeInput> inputs,
+                                                ProgressListener listener) {
+        List<CompletableFuture<Candidate>> futures = new ArrayList<>(inputs.size());
 
-                // Extract text from PDF
-                String resumeText = pdfService.extractTextFromPDF(resumeFile);
+        for (ResumeInput input : inputs) {
+            futures.add(screenAsync(criteria, input, listener));
+        }
 
-                if (resumeText.isEmpty()) {
-                    logger.warn("No text extracted from resume: {}", resumeFile.getOriginalFilename());
-                    continue;
-                }
+        List<Candidate> candidates = new ArrayList<>();
+        for (CompletableFuture<Candidate> future : futures) {
+            Candidate candidate = future.join();
+            if (candidate != null) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
 
-                // Extract candidate info using Ollama
-                GeminiService.CandidateInfo candidateInfo = OllamaService.extractCandidateInfo(resumeText);
+    /**
+     * Parse on the PDF pool, then extract and score on the LLM pool; completes with
+     * null if the file was skipped or failed
+     */
+    private CompletableFuture<Candidate> screenAsync(JobCriteria criteria, ResumeInput input,
+                                                     ProgressListener listener) {
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        return readResume(input);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, pdfExecutor)
+                .thenApplyAsync(read -> scoreResume(criteria, read), llmExecutor)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    logger.error("Error processing resume: {}", input.file.getOriginalFilename(), cause);
+                    return null;
+                })
+                .whenComplete((candidate, e) -> report(listener, input, candidate));
+    }
+
+    /**
+     * Parse all files on the PDF pool, then send the extracted texts to Gemini in
+     * multi-resume batches on the LLM pool. Batches are contiguous in upload order.
+     * Duplicates of earlier resumes are scored with their previous extraction.
+     */
+    private List<Candidate> processBatched(JobCriteria criteria, List<ResumeInput> inputs,
+                                           ProgressListener listener) {
+        List<CompletableFuture<ResumeInput>> readFutures = new ArrayList<>(inputs.size());
+        for (ResumeInput input : inputs) {
+            readFutures.add(CompletableFuture
+                    .supplyAsync(() -> {
+                        try {
+                            return readResume(input);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, pdfExecutor)
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        logger.error("Error processing resume: {}", input.file.getOriginalFilename(), cause);
+                        input.text = "";
+                        return input;
+                    }));
+        }
 
-                if (candidateInfo.getName().isEmpty() || candidateInfo.getEmail().isEmpty()) {
-                    logger.warn("Could not extract name/email from: {}", resumeFile.getOriginalFilename());
-                    continue;
+        List<ResumeInput> known = new ArrayList<>();
+        List<GeminiService.CandidateInfo> knownInfos = new ArrayList<>();
+        List<ResumeInput> pending = new ArrayList<>();
+        List<String> pendingTexts = new ArrayList<>();
+        for (CompletableFuture<ResumeInput> future : readFutures) {
+            ResumeInput input = future.join();
+            if (input.text.isEmpty()) {
+                report(listener, input, null);
+            } else if (input.priorInfo != null) {
+                known.add(input);
+                knownInfos.add(input.priorInfo);
+            } else {
+                pending.add(input);
+                pendingTexts.add(input.text);
+            }
+        }
+
+        // Duplicates of earlier resumes need no Gemini call and are saved as one chunk
+        List<Candidate> candidates = new ArrayList<>();
+        List<Candidate> reused = buildCandidates(criteria, known, knownInfos);
+        for (int k = 0; k < known.size(); k++) {
+            report(listener, known.get(k), reused.get(k));
+            if (reused.get(k) != null) {
+                candidates.add(reused.get(k));
+            }
+        }
+
+        List<CompletableFuture<List<Candidate>>> batchFutures = new ArrayList<>();
+        for (List<Integer> batch : OllamaService.partitionForBatching(pendingTexts)) {
+            batchFutures.add(CompletableFuture.supplyAsync(() -> {
+                List<String> texts = new ArrayList<>(batch.size());
+                batch.forEach(i -> texts.add(pendingTexts.get(i)));
+                PipelineMetrics.Sample sample = metrics.start();
+                List<GeminiService.CandidateInfo> infos = OllamaService.extractCandidateInfoBatch(texts);
+                metrics.stop(PipelineMetrics.Stage.EXTRACT, sample);
+
+                List<ResumeInput> batchInputs = new ArrayList<>(batch.size());
+                batch.forEach(i -> batchInputs.add(pending.get(i)));
+                List<Candidate> scored = buildCandidates(criteria, batchInputs, infos);
+                for (int k = 0; k < batch.size(); k++) {
+                    report(listener, batchInputs.get(k), scored.get(k));
+                }
+                return scored;
+            }, llmExecutor).exceptionally(e -> {
+                logger.error("Error processing resume batch of {} files", batch.size(), e);
+                batch.forEach(i -> report(listener, pending.get(i), null));
+                return List.of();
+            }));
+        }
+
+        for (CompletableFuture<List<Candidate>> future : batchFutures) {
+            for (Candidate candidate : future.join()) {
+                if (candidate != null) {
+                    candidates.add(candidate);
                 }
+            }
+        }
+        return candidates;
+    }
 
-                // Match skills
-                GeminiService.SkillMatch skillMatch = OllamaService.calculateSkillMatch(jdSkills, candidateInfo.getSkills());
+    /**
+     * Fill in the resume text: taken from the fingerprint of an identical earlier
+     * upload, otherwise validated and extracted. Left empty when the file should be
+     * skipped. Near duplicates of earlier resumes get that resume's extraction.
+     */
+    private ResumeInput readResume(ResumeInput input) throws IOException {
+        PipelineMetrics.Sample sample = metrics.start();
+        try {
+            return parseResume(input);
+        } finally {
+            metrics.stop(PipelineMetrics.Stage.PARSE, sample);
+        }
+    }
 
-                Candidate candidate = new Candidate(
-                        candidateInfo.getName(),
-                        candidateInfo.getEmail(),
-                        String.join(", ", candidateInfo.getSkills()),
-                        String.join(", ", skillMatch.getMatchedSkills()),
-                        skillMatch.getScore()
-                );
+    private ResumeInput parseResume(ResumeInput input) throws IOException {
+        MultipartFile resumeFile = input.file;
+        if (resumeFile.isEmpty()) {
+            logger.warn("Skipping empty resume file");
+            input.rejected = true;
+            return input;
+        }
 
-                candidate = candidateRepository.save(candidate);
-                candidates.add(candidate);
+        if (input.contentHash != null) {
+            Optional<ResumeDedupService.Match> exact = dedupService.findExact(input.contentHash);
+            if (exact.isPresent()) {
+                logger.info("Resume {} was processed before, reusing its extraction", resumeFile.getOriginalFilename());
+                input.text = exact.get().getResumeText();
+                input.priorInfo = exact.get().getInfo();
+                return input;
+            }
+        }
 
-                logger.info("Processed candidate: {} - Score: {}%", candidate.getName(), candidate.getMatchScore());
+        logger.info("Processing resume: {}", resumeFile.getOriginalFilename());
+
+        // Validate PDF
+        pdfService.validatePDFFile(resumeFile);
+
+        // Extract text from PDF
+        input.text = pdfService.extractTextFromPDF(resumeFile);
+
+        if (input.text.isEmpty()) {
+            logger.warn("No text extracted from resume: {}", resumeFile.getOriginalFilename());
+            input.rejected = true;
+            return input;
+        }
+
+        input.signature = dedupService.signature(input.text);
+        dedupService.findNear(input.text, input.signature).ifPresent(near -> {
+            logger.info("Resume {} is a near duplicate of an earlier resume, reusing its extraction",
+                    resumeFile.getOriginalFilename());
+            input.priorInfo = near.getInfo();
+        });
+        return input;
+    }
+
+    private Candidate scoreResume(JobCriteria criteria, ResumeInput input) {
+        if (input.text.isEmpty()) {
+            return null;
+        }
+
+        // Extract candidate info using Ollama, unless known from a duplicate
+        GeminiService.CandidateInfo candidateInfo = input.priorInfo;
+        if (candidateInfo == null) {
+            PipelineMetrics.Sample sample = metrics.start();
+            candidateInfo = OllamaService.extractCandidateInfo(input.text);
+            metrics.stop(PipelineMetrics.Stage.EXTRACT, sample);
+        }
+
+        return buildCandidate(criteria, input, candidateInfo);
+    }
+
+    private Candidate buildCandidate(JobCriteria criteria, ResumeInput input,
+                                     GeminiService.CandidateInfo candidateInfo) {
+        return buildCandidates(criteria, List.of(input), List.of(candidateInfo)).get(0);
+    }
 
+    /**
+     * Score resumes and save them as one chunk
+     * @return candidates in input order, null for resumes that could not be scored or saved
+     */
+    private List<Candidate> buildCandidates(JobCriteria criteria, List<ResumeInput> inputs,
+                                            List<GeminiService.CandidateInfo> candidateInfos) {
+        List<CandidateWriter.PendingCandidate> scored = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            CandidateWriter.PendingCandidate candidate = null;
+            PipelineMetrics.Sample sample = metrics.start();
+            try {
+                candidate = scoreCandidate(criteria, inputs.get(i), candidateInfos.get(i));
             } catch (Exception e) {
-                logger.error("Error processing resume: {}", resumeFile.getOriginalFilename(), e);
+                logger.error("Error processing resume: {}", inputs.get(i).file.getOriginalFilename(), e);
             }
+            metrics.stop(PipelineMetrics.Stage.SCORE, sample);
+            scored.add(candidate);
         }
 
-        // Send emails to ALL candidates (shortlist + rejection)
-        sendEmailsToAllCandidates(candidates);
+        // Upserted by normalized email so re-screened candidates keep a single row
+        PipelineMetrics.Sample sample = metrics.start();
+        List<Candidate> candidates = candidateWriter.saveAll(scored);
+        metrics.stop(PipelineMetrics.Stage.SAVE, sample);
+        for (int i = 0; i < inputs.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (candidate != null) {
+                relevanceService.index(candidate, inputs.get(i).document);
+                logger.info("Processed candidate: {} - Score: {}%", candidate.getName(), candidate.getMatchScore());
+            }
+        }
+        return candidates;
+    }
 
-        // Sort by match score descending
-        candidates.sort((c1, c2) -> Double.compare(c2.getMatchScore(), c1.getMatchScore()));
-        logger.info("Finished processing {} candidates", candidates.size());
+    private CandidateWriter.PendingCandidate scoreCandidate(JobCriteria criteria, ResumeInput input,
+                                                            GeminiService.CandidateInfo candidateInfo) {
+        if (candidateInfo.getName().isEmpty() || candidateInfo.getEmail().isEmpty()) {
+            logger.warn("Could not extract name/email from: {}", input.file.getOriginalFilename());
+            input.rejected = true;
+            return null;
+        }
 
-        return candidates;
+        // Match skills
+        GeminiService.SkillMatch skillMatch = OllamaService.calculateSkillMatch(criteria.skills, candidateInfo.getSkills());
+
+        input.document = Bm25Index.analyze(input.text);
+        double score = "bm25".equalsIgnoreCase(scoringStrategy)
+                ? relevanceService.score(criteria.query, input.document)
+                : skillMatch.getScore();
+
+        return new CandidateWriter.PendingCandidate(candidateInfo.getName(), candidateInfo.getEmail(),
+                String.join(", ", candidateInfo.getSkills()), String.join(", ", skillMatch.getMatchedSkills()), score,
+                dedupService.fingerprint(input.contentHash, input.text, input.signature, candidateInfo));
+    }
+
+    private static List<Candidate> distinctById(List<Candidate> candidates) {
+        Map<Long, Candidate> byId = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            byId.put(candidate.getId(), candidate);
+        }
+        return byId.size() == candidates.size() ? candidates : new ArrayList<>(byId.values());
+    }
+
+    private void report(ProgressListener listener, ResumeInput input, Candidate candidate) {
+        try {
+            if (candidate != null) {
+                listener.candidateScored(candidate);
+            } else if (input.rejected) {
+                listener.fileRejected(input.file.getOriginalFilename());
+            } else {
+                listener.fileFailed(input.file.getOriginalFilename());
+            }
+        } catch (Exception e) {
+            logger.warn("Progress listener failed for {}: {}", input.file.getOriginalFilename(), e.getMessage());
+        }
     }
 
     private void sendEmailsToAllCandidates(List<Candidate> candidates) {
@@ -114,17 +516,51 @@ public class ResumeService {
             return;
         }
 
-        logger.info("Sending emails to {} candidates (shortlisted + rejected)", candidates.size());
-
-        for (Candidate candidate : candidates) {
-            boolean sent = emailService.sendShortlistedMail(candidate, EMAIL_THRESHOLD);
-            candidate.setEmailSent(sent);
-            candidateRepository.save(candidate);
+        logger.info("Queueing emails to {} candidates (shortlisted + rejected)", candidates.size());
+        try {
+            emailOutbox.enqueue(candidates, EMAIL_THRESHOLD);
+        } catch (Exception e) {
+            logger.error("Failed to queue candidate emails", e);
         }
     }
 
-    public List<Candidate> getAllCandidatesRanked() {
-        return candidateRepository.findAllByOrderByMatchScoreDesc();
+    /**
+     * One page of the ranking, starting after the given (score, id) cursor
+     * @param afterScore match score of the last candidate of the previous page, null for the first page
+     * @param afterId id of the last candidate of the previous page
+     */
+    public CandidatePage getCandidatePage(Double afterScore, Long afterId, int size) {
+        return readCache.get("page:" + afterScore + ":" + afterId + ":" + size,
+                () -> loadCandidatePage(afterScore, afterId, size));
+    }
+
+    private CandidatePage loadCandidatePage(Double afterScore, Long afterId, int size) {
+        // One extra row tells whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Candidate> rows = afterScore == null || afterId == null
+                ? candidateRepository.findRanked(limit)
+                : candidateRepository.findRankedAfter(afterScore, afterId, limit);
+        boolean hasMore = rows.size() > size;
+        return new CandidatePage(hasMore ? rows.subList(0, size) : rows, hasMore);
+    }
+
+    /**
+     * Stream every candidate in ranking order through a database cursor inside a
+     * read-only transaction. Each row is detached as it is read, before the action
+     * sees it, so the persistence context stays empty however large the table is.
+     * The action therefore gets detached entities; that only works because every
+     * Candidate column is eagerly loaded (a lazy association would fail here).
+     */
+    public void exportCandidatesRanked(Consumer<Stream<Candidate>> action) {
+        exportTransaction.executeWithoutResult(status -> {
+            try (Stream<Candidate> candidates = candidateRepository.streamRanked()) {
+                action.accept(candidates.peek(entityManager::detach));
+            }
+        });
+    }
+
+    public Optional<Candidate> getCandidate(Long id) {
+        return Optional.ofNullable(readCache.get("candidate:" + id, () -> candidateRepository.findById(id).orElse(null)));
     }
 
     public List<Candidate> getQualifiedCandidates() {
@@ -132,18 +568,162 @@ public class ResumeService {
     }
 
     public void clearAllCandidates() {
-        candidateRepository.deleteAll();
+        candidateStats.beginWrite();
+        try {
+            candidateRepository.deleteAllInBatch();
+            candidateStats.onCleared();
+        } finally {
+            candidateStats.endWrite();
+        }
+        readCache.invalidate();
+        relevanceService.clear();
         logger.info("All candidate data cleared.");
     }
 
     public CandidateStats getCandidateStats() {
-        List<Candidate> all = candidateRepository.findAll();
-        long total = all.size();
-        long qualified = all.stream().filter(c -> c.getMatchScore() >= EMAIL_THRESHOLD).count();
-        long emailsSent = all.stream().filter(Candidate::getEmailSent).count();
-        double avg = all.stream().mapToDouble(Candidate::getMatchScore).average().orElse(0.0);
+        return readCache.get("stats", () -> candidateStats.getStats(EMAIL_THRESHOLD));
+    }
+
+    /**
+     * What resumes in one batch are scored against
+     */
+    private static final class JobCriteria {
+        private final SkillCatalog.SkillSet skills;
+        private final Bm25Index.Query query;
+
+        JobCriteria(SkillCatalog.SkillSet skills, Bm25Index.Query query) {
+            this.skills = skills;
+            this.query = query;
+        }
+    }
+
+    /**
+     * Screening batch fed one file at a time; see {@link #openBatch}
+     */
+    public final class Batch {
+        private final JobCriteria criteria;
+        private final ProgressListener listener;
+        private final Set<String> seen = new HashSet<>();
+        private final List<CompletableFuture<Candidate>> futures = new ArrayList<>();
+        private final PipelineMetrics.Sample sample = metrics.start();
+
+        private Batch(JobCriteria criteria, ProgressListener listener) {
+            this.criteria = criteria;
+            this.listener = listener;
+        }
+
+        /**
+         * Queue a file for screening; the returned future completes (with null if the
+         * file was skipped or failed) once it has been scored
+         */
+        public synchronized CompletableFuture<Candidate> submit(MultipartFile resumeFile) {
+            ResumeInput input = prepareInput(resumeFile, seen, listener);
+            CompletableFuture<Candidate> future = input == null
+                    ? CompletableFuture.completedFuture(null)
+                    : screenAsync(criteria, input, listener);
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * No more files; completes with the ranked candidates after emails are queued
+         */
+        public synchronized CompletableFuture<List<Candidate>> close() {
+            List<CompletableFuture<Candidate>> submitted = new ArrayList<>(futures);
+            return CompletableFuture.allOf(submitted.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(done -> {
+                        List<Candidate> candidates = new ArrayList<>();
+                        for (CompletableFuture<Candidate> future : submitted) {
+                            Candidate candidate = future.join();
+                            if (candidate != null) {
+                                candidates.add(candidate);
+                            }
+                        }
+                        candidates = finishBatch(candidates);
+                        metrics.stop(PipelineMetrics.Stage.BATCH, sample);
+                        return candidates;
+                    });
+        }
+    }
+
+    /**
+     * One uploaded file moving through the pipeline
+     */
+    private static final class ResumeInput {
+        private final MultipartFile file;
+        // SHA-256 of the upload; null when dedup is disabled
+        private final String contentHash;
+        private String text = "";
+        private int[] signature;
+        private Bm25Index.Document document;
+        // Extraction of an identical or near-identical earlier resume
+        private GeminiService.CandidateInfo priorInfo;
+        // Screened without errors but yielded no candidate (no text, no name or email)
+        private boolean rejected;
+
+        ResumeInput(MultipartFile file, String contentHash) {
+            this.file = file;
+            this.contentHash = contentHash;
+        }
+    }
+
+    /**
+     * Per-file progress callback for a screening batch
+     */
+    public interface ProgressListener {
+        ProgressListener NONE = new ProgressListener() {
+            @Override
+            public void candidateScored(Candidate candidate) { }
+
+            @Override
+            public void fileFailed(String filename) { }
+        };
+
+        void candidateScored(Candidate candidate);
+
+        /**
+         * Called for files that were skipped or could not be processed
+         */
+        void fileFailed(String filename);
+
+        /**
+         * Called for files that were screened but yielded no candidate (no text, or no
+         * name or email); screening them again would give the same result
+         */
+        default void fileRejected(String filename) {
+            fileFailed(filename);
+        }
 
-        return new CandidateStats(total, qualified, emailsSent, avg);
+        /**
+         * Called for byte-identical copies of a file earlier in the same batch
+         */
+        default void duplicateSkipped(String filename) {
+            fileFailed(filename);
+        }
+    }
+
+    /**
+     * A page of ranked candidates and the cursor for the next one
+     */
+    public static class CandidatePage {
+        private final List<Candidate> candidates;
+        private final boolean hasMore;
+
+        public CandidatePage(List<Candidate> candidates, boolean hasMore) {
+            this.candidates = candidates;
+            this.hasMore = hasMore;
+        }
+
+        public List<Candidate> getCandidates() { return candidates; }
+        public boolean isHasMore() { return hasMore; }
+
+        public Double getNextAfterScore() {
+            return candidates.isEmpty() ? null : candidates.get(candidates.size() - 1).getMatchScore();
+        }
+
+        public Long getNextAfterId() {
+            return candidates.isEmpty() ? null : candidates.get(candidates.size() - 1).getId();
+        }
     }
 
     public static class CandidateStats {
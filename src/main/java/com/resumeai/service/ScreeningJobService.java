@@ -0,0 +1,455 @@
+package com.resumeai.service;
+
+import com.resumeai.model.Candidate;
+import com.resumeai.model.ScreeningJob;
+import com.resumeai.util.PathMultipartFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Runs screening batches in the background and streams their progress over SSE
+ */
+@Service
+public class ScreeningJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreeningJobService.class);
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    @Qualifier("jobExecutor")
+    private ExecutorService jobExecutor;
+
+    @Value("${resume.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${resume.jobs.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    // Archive uploads: inflated bytes allowed before the compression ratio is checked
+    private static final long ARCHIVE_RATIO_ALLOWANCE = 1024 * 1024;
+
+    @Value("${resume.archive.max-entries:5000}")
+    private int archiveMaxEntries;
+
+    @Value("${resume.archive.max-entry-bytes:10485760}")
+    private long archiveMaxEntryBytes;
+
+    @Value("${resume.archive.max-total-bytes:2147483648}")
+    private long archiveMaxTotalBytes;
+
+    @Value("${resume.archive.max-compression-ratio:100}")
+    private long archiveMaxCompressionRatio;
+
+    // Entries spooled and waiting for (or in) the pipeline before reading pauses
+    @Value("${resume.archive.max-in-flight:32}")
+    private int archiveMaxInFlight;
+
+    private final Map<String, ScreeningJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    // Archive jobs created but whose body has not arrived yet: job id -> job description
+    private final Map<String, String> awaitingArchive = new ConcurrentHashMap<>();
+
+    /**
+     * Spool the uploads to disk and queue the batch. Returns as soon as the job is queued.
+     */
+    public ScreeningJob submit(String jobDescription, MultipartFile[] resumeFiles) throws IOException {
+        purgeFinishedJobs();
+
+        List<PathMultipartFile> spooled = new ArrayList<>(resumeFiles.length);
+        try {
+            for (MultipartFile resumeFile : resumeFiles) {
+                spooled.add(PathMultipartFile.spool(resumeFile));
+            }
+        } catch (IOException e) {
+            spooled.forEach(PathMultipartFile::release);
+            throw e;
+        }
+
+        ScreeningJob job = new ScreeningJob(UUID.randomUUID().toString(), spooled.size());
+        jobs.put(job.getId(), job);
+        emitters.put(job.getId(), new ArrayList<>());
+
+        jobExecutor.execute(() -> run(job, jobDescription, spooled));
+        logger.info("Queued screening job {} with {} resume files", job.getId(), spooled.size());
+        return job;
+    }
+
+    /**
+     * Create an archive job that waits for its ZIP body ({@link #receiveArchive}), so a
+     * client knows the job id, and can follow its events, before it starts uploading
+     */
+    public ScreeningJob createArchiveJob(String jobDescription) {
+        purgeFinishedJobs();
+
+        ScreeningJob job = new ScreeningJob(UUID.randomUUID().toString(), 0);
+        jobs.put(job.getId(), job);
+        emitters.put(job.getId(), new ArrayList<>());
+        awaitingArchive.put(job.getId(), jobDescription);
+        logger.info("Created screening job {}, waiting for its archive", job.getId());
+        return job;
+    }
+
+    /**
+     * Create an archive job and read its body in one call
+     * @see #receiveArchive
+     */
+    public ScreeningJob submitArchive(String jobDescription, InputStream body) {
+        return receiveArchive(createArchiveJob(jobDescription).getId(), body);
+    }
+
+    /**
+     * Screen the PDFs of a ZIP archive while it is still being uploaded. Entries are
+     * read from the request body one at a time, spooled to a temp file and submitted
+     * to the pipeline; reading blocks while too many entries are in flight, which
+     * throttles the upload instead of piling up files. Returns once the whole body is
+     * read; screening of the last entries continues in the background.
+     *
+     * @return null if there is no job with this id
+     * @throws IllegalStateException if the job's archive was already received
+     * @throws ArchiveRejectedException if the archive breaks a size limit or holds no
+     *         entries; entries already submitted are still screened and the job fails
+     *         with the same message
+     */
+    public ScreeningJob receiveArchive(String jobId, InputStream body) {
+        ScreeningJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        String jobDescription = awaitingArchive.remove(jobId);
+        if (jobDescription == null) {
+            throw new IllegalStateException("Archive for job " + jobId + " was already received");
+        }
+        job.setStatus(ScreeningJob.Status.RUNNING);
+        logger.info("Receiving archive for screening job {}", job.getId());
+
+        ResumeService.Batch batch;
+        try {
+            batch = resumeService.openBatch(jobDescription, listenerFor(job));
+        } catch (RuntimeException e) {
+            finish(job, ScreeningJob.Status.FAILED, e.getMessage());
+            throw e;
+        }
+
+        String rejection = null;
+        try {
+            readArchive(job, batch, body);
+            if (job.getTotalFiles() == 0) {
+                rejection = "No files found in archive";
+            }
+        } catch (IllegalArgumentException e) {
+            rejection = e.getMessage();
+        } catch (IOException e) {
+            rejection = "Could not read archive: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejection = "Interrupted while reading archive";
+        }
+
+        String error = rejection;
+        batch.close().whenComplete((candidates, e) -> {
+            if (e != null) {
+                logger.error("Screening job {} failed", job.getId(), e);
+                finish(job, ScreeningJob.Status.FAILED, e.getMessage());
+            } else {
+                finish(job, error == null ? ScreeningJob.Status.COMPLETED : ScreeningJob.Status.FAILED, error);
+                logger.info("Screening job {} {}: {} of {} archive entries scored, {} failed", job.getId(),
+                        job.getStatus(), job.getScoredCandidates(), job.getTotalFiles(), job.getFailedFiles());
+            }
+        });
+        if (rejection != null) {
+            logger.warn("Rejected archive for screening job {}: {}", job.getId(), rejection);
+            throw new ArchiveRejectedException(job, rejection);
+        }
+        return job;
+    }
+
+    private void readArchive(ScreeningJob job, ResumeService.Batch batch, InputStream body)
+            throws IOException, InterruptedException {
+        CountingInputStream compressed = new CountingInputStream(body);
+        Semaphore inFlight = new Semaphore(archiveMaxInFlight);
+        long totalBytes = 0;
+        int entries = 0;
+        byte[] buffer = new byte[8192];
+
+        try (ZipInputStream zip = new ZipInputStream(compressed)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                // Only the base name is kept; entry paths never touch the file system
+                String name = entry.getName().substring(Math.max(entry.getName().lastIndexOf('/'),
+                        entry.getName().lastIndexOf('\\')) + 1);
+                if (entry.isDirectory() || entry.getName().startsWith("__MACOSX/") || name.isEmpty()
+                        || name.startsWith(".")) {
+                    continue;
+                }
+                if (++entries > archiveMaxEntries) {
+                    throw new IllegalArgumentException("Archive has more than " + archiveMaxEntries + " entries");
+                }
+                synchronized (job) {
+                    job.fileAdded();
+                }
+                boolean pdf = name.toLowerCase(Locale.ROOT).endsWith(".pdf");
+
+                // Every inflated byte counts against the limits, including skipped entries
+                Path temp = pdf ? Files.createTempFile("resume-", ".upload") : null;
+                long entryBytes = 0;
+                try (OutputStream out = pdf ? Files.newOutputStream(temp) : OutputStream.nullOutputStream()) {
+                    int read;
+                    while ((read = zip.read(buffer)) != -1) {
+                        entryBytes += read;
+                        totalBytes += read;
+                        if (totalBytes > archiveMaxTotalBytes) {
+                            throw new IllegalArgumentException("Archive expands to more than "
+                                    + archiveMaxTotalBytes / (1024 * 1024) + " MB");
+                        }
+                        if (totalBytes > ARCHIVE_RATIO_ALLOWANCE
+                                && totalBytes > compressed.getCount() * archiveMaxCompressionRatio) {
+                            throw new IllegalArgumentException("Archive compression ratio exceeds "
+                                    + archiveMaxCompressionRatio + ":1");
+                        }
+                        if (entryBytes <= archiveMaxEntryBytes) {
+                            out.write(buffer, 0, read);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    if (temp != null) {
+                        Files.deleteIfExists(temp);
+                    }
+                    synchronized (job) {
+                        job.fileFailed();
+                    }
+                    throw e;
+                }
+
+                if (!pdf || entryBytes > archiveMaxEntryBytes) {
+                    logger.warn("Skipping archive entry {}: {}", entry.getName(),
+                            pdf ? "larger than " + archiveMaxEntryBytes + " bytes" : "not a PDF");
+                    if (temp != null) {
+                        Files.deleteIfExists(temp);
+                    }
+                    synchronized (job) {
+                        job.fileFailed();
+                        broadcast(job, "progress", job);
+                    }
+                    continue;
+                }
+
+                PathMultipartFile file = new PathMultipartFile(temp, name, "application/pdf", true);
+                inFlight.acquire();
+                batch.submit(file).whenComplete((candidate, e) -> {
+                    file.release();
+                    inFlight.release();
+                });
+            }
+        }
+    }
+
+    public Optional<ScreeningJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Subscribe to a job. Candidates scored so far are replayed first.
+     */
+    public SseEmitter subscribe(String jobId) {
+        ScreeningJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        synchronized (job) {
+            try {
+                for (Candidate candidate : job.getCandidates()) {
+                    emitter.send(SseEmitter.event().name("candidate").data(candidate));
+                }
+                emitter.send(SseEmitter.event().name("progress").data(job));
+                if (job.isFinished()) {
+                    emitter.send(SseEmitter.event().name("complete").data(job));
+                    emitter.complete();
+                    return emitter;
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+            List<SseEmitter> subscribers = emitters.get(jobId);
+            subscribers.add(emitter);
+            emitter.onCompletion(() -> removeEmitter(job, emitter));
+            emitter.onTimeout(() -> removeEmitter(job, emitter));
+        }
+        return emitter;
+    }
+
+    private void run(ScreeningJob job, String jobDescription, List<PathMultipartFile> files) {
+        job.setStatus(ScreeningJob.Status.RUNNING);
+        try {
+            resumeService.processResumes(jobDescription, files.toArray(new MultipartFile[0]), listenerFor(job));
+            finish(job, ScreeningJob.Status.COMPLETED, null);
+            logger.info("Screening job {} completed: {} candidates scored, {} files failed",
+                    job.getId(), job.getScoredCandidates(), job.getFailedFiles());
+        } catch (Exception e) {
+            logger.error("Screening job {} failed", job.getId(), e);
+            finish(job, ScreeningJob.Status.FAILED, e.getMessage());
+        } finally {
+            files.forEach(PathMultipartFile::release);
+        }
+    }
+
+    private ResumeService.ProgressListener listenerFor(ScreeningJob job) {
+        return new ResumeService.ProgressListener() {
+            @Override
+            public void candidateScored(Candidate candidate) {
+                synchronized (job) {
+                    job.candidateScored(candidate);
+                    broadcast(job, "candidate", candidate);
+                    broadcast(job, "progress", job);
+                }
+            }
+
+            @Override
+            public void fileFailed(String filename) {
+                synchronized (job) {
+                    job.fileFailed();
+                    broadcast(job, "progress", job);
+                }
+            }
+        };
+    }
+
+    private void finish(ScreeningJob job, ScreeningJob.Status status, String error) {
+        synchronized (job) {
+            job.finish(status, error);
+            broadcast(job, "complete", job);
+            List<SseEmitter> subscribers = emitters.get(job.getId());
+            for (SseEmitter emitter : new ArrayList<>(subscribers)) {
+                emitter.complete();
+            }
+            subscribers.clear();
+        }
+    }
+
+    /**
+     * Must be called while holding the job's monitor
+     */
+    private void broadcast(ScreeningJob job, String eventName, Object data) {
+        Iterator<SseEmitter> iterator = emitters.get(job.getId()).iterator();
+        while (iterator.hasNext()) {
+            SseEmitter emitter = iterator.next();
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (Exception e) {
+                logger.debug("Dropping SSE subscriber for job {}: {}", job.getId(), e.getMessage());
+                iterator.remove();
+            }
+        }
+    }
+
+    private void removeEmitter(ScreeningJob job, SseEmitter emitter) {
+        synchronized (job) {
+            List<SseEmitter> subscribers = emitters.get(job.getId());
+            if (subscribers != null) {
+                subscribers.remove(emitter);
+            }
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        awaitingArchive.keySet().removeIf(jobId -> {
+            ScreeningJob job = jobs.get(jobId);
+            boolean abandoned = job == null || job.getCreatedAt().isBefore(cutoff);
+            if (abandoned && job != null) {
+                finish(job, ScreeningJob.Status.FAILED, "No archive received");
+            }
+            return abandoned;
+        });
+        jobs.values().removeIf(job -> {
+            boolean expired = job.isFinished() && job.getFinishedAt().isBefore(cutoff);
+            if (expired) {
+                emitters.remove(job.getId());
+            }
+            return expired;
+        });
+    }
+
+    /**
+     * An archive that broke a limit; carries the job, whose already submitted entries
+     * are still being screened
+     */
+    public static class ArchiveRejectedException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ScreeningJob job;
+
+        public ArchiveRejectedException(ScreeningJob job, String message) {
+            super(message);
+            this.job = job;
+        }
+
+        public ScreeningJob getJob() {
+            return job;
+        }
+    }
+
+    /**
+     * Counts bytes read from the raw (compressed) upload
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
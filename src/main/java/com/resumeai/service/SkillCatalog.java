@@ -0,0 +1,350 @@
+package com.resumeai.service;
+
+import com.resumeai.util.TrigramIndex;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps skill aliases to canonical skills with dense integer ids. Skill lists are
+ * interned into sorted id arrays so matching is a merge over two int[] instead of
+ * string hashing. Unknown spellings can be corrected to the closest catalog skill
+ * through a trigram index. The catalog can be reloaded at runtime from a local file.
+ */
+@Service
+public class SkillCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillCatalog.class);
+
+    // Skills not in the catalog get ids too, up to this many per snapshot
+    private static final int MAX_DYNAMIC_SKILLS = 100_000;
+
+    @Value("${resume.skills.catalog:skills/catalog.txt}")
+    private String classpathCatalog;
+
+    // Optional external catalog file; takes precedence over the bundled one and is re-read on reload
+    @Value("${resume.skills.catalog-file:}")
+    private String catalogFile;
+
+    @Value("${resume.skills.fuzzy.enabled:true}")
+    private boolean fuzzyEnabled;
+
+    @Value("${resume.skills.fuzzy.min-similarity:0.85}")
+    private double fuzzyMinSimilarity;
+
+    @Value("${resume.skills.fuzzy.max-edits:2}")
+    private int fuzzyMaxEdits;
+
+    // Shorter skills ("js", "sql") are too ambiguous to correct
+    @Value("${resume.skills.fuzzy.min-length:5}")
+    private int fuzzyMinLength;
+
+    private volatile Snapshot current;
+
+    @PostConstruct
+    public void init() throws IOException {
+        reload();
+    }
+
+    /**
+     * Re-read the catalog. Skill sets interned before the reload keep using the old snapshot.
+     */
+    public synchronized Snapshot reload() throws IOException {
+        FuzzyOptions fuzzy = new FuzzyOptions(fuzzyEnabled, fuzzyMinSimilarity, fuzzyMaxEdits, fuzzyMinLength);
+        Snapshot snapshot;
+        if (catalogFile != null && !catalogFile.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(catalogFile))) {
+                snapshot = Snapshot.parse(in, fuzzy);
+            }
+        } else {
+            try (InputStream in = new ClassPathResource(classpathCatalog).getInputStream()) {
+                snapshot = Snapshot.parse(in, fuzzy);
+            }
+        }
+        current = snapshot;
+        logger.info("Loaded skill catalog: {} canonical skills, {} aliases",
+                snapshot.getCanonicalCount(), snapshot.getAliasCount());
+        return snapshot;
+    }
+
+    public Snapshot current() {
+        return current;
+    }
+
+    public SkillSet compile(List<String> skills) {
+        return current.compile(skills);
+    }
+
+    /**
+     * Lookup key for a skill: lower case, letters and digits only, keeping '+' and '#'
+     * ("React.js", "ReactJS" and "react js" all become "reactjs")
+     */
+    public static String normalize(String skill) {
+        StringBuilder key = new StringBuilder(skill.length());
+        for (int i = 0; i < skill.length(); i++) {
+            char c = skill.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            } else if (c == '+' || c == '#') {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Immutable catalog plus ids handed out to skills outside of it
+     */
+    public static final class Snapshot {
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<Integer, String> dynamicNames = new ConcurrentHashMap<>();
+        private final String[] canonicalNames;
+        private final Map<String, String> phrases;
+        private final AtomicInteger nextId;
+        private final int aliasCount;
+
+        private final FuzzyOptions fuzzy;
+        // Catalog keys (canonical and alias) and the ids they resolve to, for fuzzy lookups
+        private final TrigramIndex vocabulary;
+        private final int[] vocabularyIds;
+
+        private Snapshot(List<String> canonicalNames, Map<String, String> phrases, Map<String, Integer> ids,
+                         FuzzyOptions fuzzy) {
+            this.canonicalNames = canonicalNames.toArray(new String[0]);
+            this.phrases = Collections.unmodifiableMap(phrases);
+            this.ids.putAll(ids);
+            this.nextId = new AtomicInteger(canonicalNames.size());
+            this.aliasCount = ids.size() - canonicalNames.size();
+            this.fuzzy = fuzzy;
+
+            List<String> keys = new ArrayList<>(ids.keySet());
+            this.vocabulary = new TrigramIndex(keys);
+            this.vocabularyIds = new int[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                vocabularyIds[i] = ids.get(keys.get(i));
+            }
+        }
+
+        static Snapshot parse(InputStream in, FuzzyOptions fuzzy) throws IOException {
+            List<String> names = new ArrayList<>();
+            Map<String, String> phrases = new LinkedHashMap<>();
+            Map<String, Integer> ids = new HashMap<>();
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    int colon = line.indexOf(':');
+                    String canonical = (colon == -1 ? line : line.substring(0, colon)).trim();
+                    String key = normalize(canonical);
+                    if (key.isEmpty() || ids.containsKey(key)) {
+                        continue;
+                    }
+
+                    int id = names.size();
+                    names.add(canonical);
+                    ids.put(key, id);
+                    phrases.put(canonical, canonical);
+
+                    if (colon != -1) {
+                        for (String alias : line.substring(colon + 1).split(",")) {
+                            String aliasKey = normalize(alias);
+                            if (!aliasKey.isEmpty()) {
+                                ids.putIfAbsent(aliasKey, id);
+                                phrases.putIfAbsent(alias.trim(), canonical);
+                            }
+                        }
+                    }
+                }
+            }
+            return new Snapshot(names, phrases, ids, fuzzy);
+        }
+
+        /**
+         * @return the skill's id, or -1 for blank input
+         */
+        public int intern(String skill) {
+            String key = normalize(skill);
+            if (key.isEmpty()) {
+                return -1;
+            }
+            Integer id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+            if (ids.size() - canonicalNames.length - aliasCount >= MAX_DYNAMIC_SKILLS) {
+                return fuzzyLookup(key);
+            }
+
+            int corrected = fuzzyLookup(key);
+            if (corrected >= 0) {
+                // Remember the correction so the next lookup is exact
+                ids.putIfAbsent(key, corrected);
+                return corrected;
+            }
+            return ids.computeIfAbsent(key, k -> {
+                int newId = nextId.getAndIncrement();
+                dynamicNames.put(newId, skill.trim());
+                return newId;
+            });
+        }
+
+        /**
+         * @return the catalog id of a known skill or alias (allowing typos when fuzzy
+         *         matching is on), or -1
+         */
+        public int lookup(String skill) {
+            String key = normalize(skill);
+            Integer id = ids.get(key);
+            if (id != null && id < canonicalNames.length) {
+                return id;
+            }
+            return fuzzyLookup(key);
+        }
+
+        /**
+         * Closest catalog skill within the configured edit distance and similarity, or -1
+         */
+        public int fuzzyLookup(String key) {
+            if (!fuzzy.enabled || key.length() < fuzzy.minLength) {
+                return -1;
+            }
+            int match = vocabulary.bestMatch(key, fuzzy.minSimilarity, fuzzy.maxEdits);
+            return match >= 0 ? vocabularyIds[match] : -1;
+        }
+
+        public SkillSet compile(List<String> skills) {
+            int[] interned = new int[skills.size()];
+            int count = 0;
+            for (String skill : skills) {
+                int id = intern(skill);
+                if (id >= 0) {
+                    interned[count++] = id;
+                }
+            }
+            Arrays.sort(interned, 0, count);
+
+            // Drop duplicates in place
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                if (unique == 0 || interned[unique - 1] != interned[i]) {
+                    interned[unique++] = interned[i];
+                }
+            }
+            return new SkillSet(this, Arrays.copyOf(interned, unique));
+        }
+
+        public String name(int id) {
+            return id < canonicalNames.length ? canonicalNames[id] : dynamicNames.get(id);
+        }
+
+        /**
+         * Every canonical name and alias as written in the catalog, mapped to its canonical name
+         */
+        public Map<String, String> getPhrases() {
+            return phrases;
+        }
+
+        public int getCanonicalCount() {
+            return canonicalNames.length;
+        }
+
+        public int getAliasCount() {
+            return aliasCount;
+        }
+    }
+
+    static final class FuzzyOptions {
+        private final boolean enabled;
+        private final double minSimilarity;
+        private final int maxEdits;
+        private final int minLength;
+
+        FuzzyOptions(boolean enabled, double minSimilarity, int maxEdits, int minLength) {
+            this.enabled = enabled;
+            this.minSimilarity = minSimilarity;
+            this.maxEdits = maxEdits;
+            this.minLength = minLength;
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free skill ids interned against one catalog snapshot
+     */
+    public static final class SkillSet {
+        private final Snapshot snapshot;
+        private final int[] ids;
+
+        SkillSet(Snapshot snapshot, int[] ids) {
+            this.snapshot = snapshot;
+            this.ids = ids;
+        }
+
+        public Snapshot getSnapshot() { return snapshot; }
+        public int size() { return ids.length; }
+        public boolean isEmpty() { return ids.length == 0; }
+
+        /**
+         * Number of skills present in both sets; does not allocate
+         */
+        public int countMatches(SkillSet other) {
+            int[] a = ids;
+            int[] b = other.ids;
+            int i = 0;
+            int j = 0;
+            int matches = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    matches++;
+                    i++;
+                    j++;
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Canonical names of the skills present in both sets, in id order
+         */
+        public List<String> matchedNames(SkillSet other) {
+            List<String> matched = new ArrayList<>();
+            int[] a = ids;
+            int[] b = other.ids;
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    matched.add(snapshot.name(a[i]));
+                    i++;
+                    j++;
+                }
+            }
+            return matched;
+        }
+    }
+}
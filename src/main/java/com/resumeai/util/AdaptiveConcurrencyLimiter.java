@@ -0,0 +1,49 @@
+package com.resumeai.util;
+
+/**
+ * AIMD limit on concurrent in-flight calls: the limit grows by roughly one per
+ * limit's worth of successful calls and is halved when the provider throttles.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+    }
+
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Release a slot taken by {@link #acquire()}
+     * @param throttled whether the call was rejected by the provider (429/503)
+     */
+    public synchronized void release(boolean throttled) {
+        inFlight--;
+        if (throttled) {
+            limit = Math.max(minLimit, limit / 2);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
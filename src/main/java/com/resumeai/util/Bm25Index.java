@@ -0,0 +1,314 @@
+package com.resumeai.util;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with Okapi BM25 scoring. Documents are keyed by a long
+ * (the candidate id); re-adding a key replaces its document, whose old postings are
+ * tombstoned and compacted away once they make up half the index. A query is
+ * scored against the whole collection in one pass over its terms' postings.
+ */
+public class Bm25Index {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "we", "will", "with", "you",
+            "your", "who", "which", "should", "must", "can", "able", "etc", "also", "experience", "work");
+
+    private final double k1;
+    private final double b;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docIndex = new HashMap<>();
+    private long[] docKeys = new long[64];
+    private int[] docLengths = new int[64];
+    private int docCount;
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public Bm25Index(double k1, double b) {
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * Tokenize and count terms; the result can be scored before it is added
+     */
+    public static Document analyze(String text) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = 0;
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                String term = token.toString();
+                token.setLength(0);
+                if (term.length() > 1 && !STOPWORDS.contains(term)) {
+                    frequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+                    length++;
+                }
+            }
+        }
+        return new Document(frequencies, length);
+    }
+
+    /**
+     * Distinct terms of a query (e.g. a job description)
+     */
+    public static Query query(String text) {
+        return new Query(analyze(text).frequencies.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * Add a document, replacing the one indexed under the same key
+     */
+    public void add(long key, Document document) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = docIndex.get(key);
+            if (previous != null) {
+                deleted.set(previous);
+                deletedCount++;
+                totalLength -= docLengths[previous];
+                if (deletedCount * 2 >= docCount) {
+                    compact();
+                }
+            }
+            if (docCount == docKeys.length) {
+                docKeys = Arrays.copyOf(docKeys, docCount * 2);
+                docLengths = Arrays.copyOf(docLengths, docCount * 2);
+            }
+            int doc = docCount++;
+            docKeys[doc] = key;
+            docLengths[doc] = document.length;
+            docIndex.put(key, doc);
+            totalLength += document.length;
+            document.frequencies.forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new Postings()).add(doc, tf[0]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docIndex.clear();
+            docKeys = new long[64];
+            docLengths = new int[64];
+            docCount = 0;
+            deleted.clear();
+            deletedCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top documents for the query, best first, with scores normalized to 0-100
+     */
+    public List<Hit> top(Query query, int limit) {
+        lock.readLock().lock();
+        try {
+            int live = docCount - deletedCount;
+            if (live == 0 || limit <= 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / live;
+            double[] scores = new double[docCount];
+            double maxScore = 0.0;
+
+            for (String term : query.terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                // Document frequency still counts tombstoned postings until the next compaction
+                double idf = idf(live, Math.min(list.size, live));
+                maxScore += idf * (k1 + 1);
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    scores[doc] += termScore(idf, list.tfs[i], docLengths[doc], avgLength);
+                }
+            }
+            if (maxScore == 0.0) {
+                return List.of();
+            }
+
+            // Min-heap of the best `limit` documents
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, live) + 1,
+                    (x, y) -> Double.compare(scores[x], scores[y]));
+            for (int doc = 0; doc < docCount; doc++) {
+                if (scores[doc] <= 0.0 || deleted.get(doc)) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(doc);
+                } else if (scores[doc] > scores[heap.peek()]) {
+                    heap.poll();
+                    heap.add(doc);
+                }
+            }
+
+            Hit[] hits = new Hit[heap.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                int doc = heap.poll();
+                hits[i] = new Hit(docKeys[doc], scores[doc] / maxScore * 100.0);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalized 0-100 score of a document that is not in the index yet, using
+     * collection statistics as if it had been added
+     */
+    public double score(Query query, Document document) {
+        lock.readLock().lock();
+        try {
+            int n = docCount - deletedCount + 1;
+            double avgLength = (double) (totalLength + document.length) / n;
+            double score = 0.0;
+            double maxScore = 0.0;
+
+            for (String term : query.terms) {
+                Postings list = postings.get(term);
+                int[] tf = document.frequencies.get(term);
+                int df = Math.min(list == null ? 0 : list.size, n - 1) + (tf == null ? 0 : 1);
+                if (df == 0) {
+                    continue;
+                }
+                double idf = idf(n, df);
+                maxScore += idf * (k1 + 1);
+                if (tf != null) {
+                    score += termScore(idf, tf[0], document.length, avgLength);
+                }
+            }
+            return maxScore == 0.0 ? 0.0 : score / maxScore * 100.0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop tombstoned documents and renumber the rest; caller holds the write lock
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = live;
+                docKeys[live] = docKeys[doc];
+                docLengths[live] = docLengths[doc];
+                docIndex.put(docKeys[live], live);
+                live++;
+            }
+        }
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            list.retain(remap);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+        docCount = live;
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    private double termScore(double idf, int tf, int length, double avgLength) {
+        return idf * tf * (k1 + 1) / (tf + k1 * (1 - b + b * length / avgLength));
+    }
+
+    private static double idf(int docs, int df) {
+        return Math.log(1.0 + (docs - df + 0.5) / (df + 0.5));
+    }
+
+    public static final class Document {
+        private final Map<String, int[]> frequencies;
+        private final int length;
+
+        Document(Map<String, int[]> frequencies, int length) {
+            this.frequencies = frequencies;
+            this.length = length;
+        }
+
+        public int getLength() { return length; }
+    }
+
+    public static final class Query {
+        private final String[] terms;
+
+        Query(String[] terms) {
+            this.terms = terms;
+        }
+
+        public boolean isEmpty() { return terms.length == 0; }
+    }
+
+    public static final class Hit {
+        private final long key;
+        private final double score;
+
+        Hit(long key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        public long getKey() { return key; }
+        public double getScore() { return score; }
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] tfs = new int[4];
+        int size;
+
+        void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+
+        void retain(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    tfs[kept] = tfs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
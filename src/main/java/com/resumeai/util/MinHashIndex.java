@@ -0,0 +1,172 @@
+package com.resumeai.util;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures over word 3-gram shingles with a banded LSH index for
+ * near-duplicate lookup. Two texts land in the same bucket of at least one band
+ * with high probability once their Jaccard similarity is well above
+ * (1 / BANDS) ^ (1 / ROWS); candidates are then verified on the full signature.
+ * Hash seeds are fixed so persisted signatures stay comparable across restarts.
+ */
+public class MinHashIndex {
+
+    public static final int SIGNATURE_SIZE = 128;
+    private static final int BANDS = 16;
+    private static final int ROWS = SIGNATURE_SIZE / BANDS;
+    private static final int SHINGLE_WORDS = 3;
+
+    private static final long[] SEEDS_A = new long[SIGNATURE_SIZE];
+    private static final long[] SEEDS_B = new long[SIGNATURE_SIZE];
+
+    static {
+        Random random = new Random(0x5EEDL);
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            SEEDS_A[i] = random.nextLong() | 1L;
+            SEEDS_B[i] = random.nextLong();
+        }
+    }
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @return the signature of the text, or null if it has fewer than three words
+     */
+    public static int[] signature(String text) {
+        long[] words = new long[16];
+        int count = 0;
+        long hash = 0xcbf29ce484222325L;
+        int length = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                // FNV-1a over the word's characters
+                hash = (hash ^ c) * 0x100000001b3L;
+                length++;
+            } else if (length > 0) {
+                if (count == words.length) {
+                    words = Arrays.copyOf(words, count * 2);
+                }
+                words[count++] = hash;
+                hash = 0xcbf29ce484222325L;
+                length = 0;
+            }
+        }
+        if (count < SHINGLE_WORDS) {
+            return null;
+        }
+
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int w = 0; w + SHINGLE_WORDS <= count; w++) {
+            long shingle = words[w] * 31 * 31 + words[w + 1] * 31 + words[w + 2];
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int h = (int) ((SEEDS_A[i] * shingle + SEEDS_B[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the shingle sets behind two signatures
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    public void add(long id, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            if (signatures.putIfAbsent(id, signature) != null) {
+                return;
+            }
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>(1)).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return id of the most similar indexed signature with similarity of at least
+     *         minSimilarity, or -1
+     */
+    public long findSimilar(int[] signature, double minSimilarity) {
+        lock.readLock().lock();
+        try {
+            long best = -1;
+            double bestSimilarity = minSimilarity;
+            Set<Long> checked = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<Long> bucket = buckets.get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (long id : bucket) {
+                    if (!checked.add(id)) {
+                        continue;
+                    }
+                    double similarity = similarity(signature, signatures.get(id));
+                    if (similarity >= bestSimilarity) {
+                        best = id;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+            return best;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        byte[] bytes = new byte[signature.length * 4];
+        for (int i = 0; i < signature.length; i++) {
+            bytes[i * 4] = (byte) (signature[i] >>> 24);
+            bytes[i * 4 + 1] = (byte) (signature[i] >>> 16);
+            bytes[i * 4 + 2] = (byte) (signature[i] >>> 8);
+            bytes[i * 4 + 3] = (byte) signature[i];
+        }
+        return bytes;
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / 4];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = (bytes[i * 4] & 0xff) << 24 | (bytes[i * 4 + 1] & 0xff) << 16
+                    | (bytes[i * 4 + 2] & 0xff) << 8 | (bytes[i * 4 + 3] & 0xff);
+        }
+        return signature;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,105 @@
+package com.resumeai.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * MultipartFile backed by a file on disk. Used to hand uploads to background
+ * jobs after the servlet request (and its multipart temp files) is gone.
+ */
+public class PathMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final boolean temporary;
+
+    public PathMultipartFile(Path path, String originalFilename, String contentType, boolean temporary) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.temporary = temporary;
+    }
+
+    /**
+     * Copy an upload into a temp file that outlives the request
+     */
+    public static PathMultipartFile spool(MultipartFile upload) throws IOException {
+        Path temp = Files.createTempFile("resume-", ".upload");
+        try (InputStream in = upload.getInputStream()) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return new PathMultipartFile(temp, upload.getOriginalFilename(), upload.getContentType(), true);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Delete the backing file if it was created by {@link #spool}
+     */
+    public void release() {
+        if (!temporary) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp dir cleanup will catch it
+        }
+    }
+
+    @Override
+    public String getName() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,84 @@
+package com.resumeai.util;
+
+/**
+ * Single-pass text cleanup for extracted resume text and model responses. Works on
+ * a per-thread reusable buffer, so normalizing allocates only the result string.
+ */
+public final class TextNormalizer {
+
+    private static final int MAX_REUSED_CAPACITY = 1 << 20;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Collapse runs of spaces/tabs/control characters to one space, drop invisible
+     * format characters, trim every line and collapse blank lines, keeping single
+     * line breaks
+     */
+    public static String normalize(CharSequence raw) {
+        StringBuilder out = buffer(raw.length());
+        boolean pendingSpace = false;
+        boolean pendingNewline = false;
+
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\f' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                pendingSpace = false;
+                pendingNewline = out.length() > 0;
+            } else if (c <= ' ' || Character.isWhitespace(c) || Character.isSpaceChar(c)
+                    || Character.getType(c) == Character.CONTROL) {
+                pendingSpace = out.length() > 0 && !pendingNewline;
+            } else if (Character.getType(c) == Character.FORMAT) {
+                // Soft hyphens, zero-width spaces and joiners
+                continue;
+            } else {
+                if (pendingNewline) {
+                    out.append('\n');
+                } else if (pendingSpace) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                pendingNewline = false;
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Remove markdown emphasis markers ('*') and trim
+     */
+    public static String stripMarkdown(String response) {
+        StringBuilder out = buffer(response.length());
+        for (int i = 0; i < response.length(); i++) {
+            char c = response.charAt(i);
+            if (c != '*') {
+                out.append(c);
+            }
+        }
+        int start = 0;
+        int end = out.length();
+        while (start < end && Character.isWhitespace(out.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(out.charAt(end - 1))) {
+            end--;
+        }
+        return out.substring(start, end);
+    }
+
+    private static StringBuilder buffer(int expected) {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_REUSED_CAPACITY && expected <= MAX_REUSED_CAPACITY) {
+            // Don't pin a buffer sized for one huge document to the thread
+            buffer = new StringBuilder(Math.max(expected, 8192));
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        buffer.ensureCapacity(expected);
+        return buffer;
+    }
+}
@@ -0,0 +1,61 @@
+package com.resumeai.util;
+
+/**
+ * Token bucket refilled continuously at a fixed rate per minute.
+ * A request larger than the capacity is allowed once the bucket is full,
+ * so oversized prompts are throttled instead of blocked forever.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double refillPerNano;
+
+    private double available;
+    private long lastRefill;
+
+    public TokenBucket(long perMinute) {
+        this.capacity = Math.max(1, perMinute);
+        this.refillPerNano = this.capacity / 60_000_000_000.0;
+        this.available = this.capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Block until the permits are available, then take them
+     */
+    public void acquire(long permits) throws InterruptedException {
+        long needed = Math.min(permits, capacity);
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (available >= needed) {
+                    available -= permits;
+                    return;
+                }
+                waitNanos = (long) ((needed - available) / refillPerNano);
+            }
+            Thread.sleep(Math.max(1, waitNanos / 1_000_000), (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    public synchronized boolean tryAcquire(long permits) {
+        refill();
+        if (available >= Math.min(permits, capacity)) {
+            available -= permits;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized long getAvailable() {
+        refill();
+        return (long) available;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
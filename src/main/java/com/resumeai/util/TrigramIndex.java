@@ -0,0 +1,260 @@
+package com.resumeai.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Character-trigram inverted index over a fixed vocabulary for fuzzy lookups.
+ * Candidates are found with the trigram count filter (each edit destroys at most
+ * three trigrams) and verified with a banded Levenshtein distance.
+ * Lookups reuse per-thread scratch arrays and do not allocate on the hot path.
+ */
+public class TrigramIndex {
+
+    private static final char PAD = '\u0001';
+
+    private final String[] terms;
+    private final int[] trigramCounts;
+
+    // Open-addressing map from trigram to its posting list
+    private final long[] tableKeys;
+    private final int[][] tablePostings;
+    private final int mask;
+
+    private final ThreadLocal<Scratch> scratch;
+
+    public TrigramIndex(List<String> vocabulary) {
+        this.terms = vocabulary.toArray(new String[0]);
+        this.trigramCounts = new int[terms.length];
+
+        // Count postings per trigram first so each list is allocated once
+        LongIntMap sizes = new LongIntMap(Math.max(16, terms.length * 8));
+        for (int t = 0; t < terms.length; t++) {
+            trigramCounts[t] = terms[t].length();
+            for (int i = 0; i < terms[t].length(); i++) {
+                sizes.increment(trigram(terms[t], i));
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(16, sizes.size * 2) - 1) << 1;
+        this.mask = capacity - 1;
+        this.tableKeys = new long[capacity];
+        this.tablePostings = new int[capacity][];
+        Arrays.fill(tableKeys, -1L);
+        int[] fill = new int[capacity];
+
+        for (int s = 0; s < sizes.keys.length; s++) {
+            if (sizes.keys[s] != -1L) {
+                int slot = slotFor(sizes.keys[s]);
+                tableKeys[slot] = sizes.keys[s];
+                tablePostings[slot] = new int[sizes.values[s]];
+            }
+        }
+        for (int t = 0; t < terms.length; t++) {
+            for (int i = 0; i < terms[t].length(); i++) {
+                int slot = slotFor(trigram(terms[t], i));
+                int[] postings = tablePostings[slot];
+                // A trigram repeated inside one term is posted once
+                if (fill[slot] == 0 || postings[fill[slot] - 1] != t) {
+                    postings[fill[slot]++] = t;
+                }
+            }
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            if (tablePostings[slot] != null && fill[slot] < tablePostings[slot].length) {
+                tablePostings[slot] = Arrays.copyOf(tablePostings[slot], fill[slot]);
+            }
+        }
+
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(terms.length));
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public String term(int index) {
+        return terms[index];
+    }
+
+    /**
+     * @return index of the most similar vocabulary term with similarity
+     *         (1 - distance / longer length) of at least minSimilarity and at most
+     *         maxEdits edits, or -1
+     */
+    public int bestMatch(String query, double minSimilarity, int maxEdits) {
+        if (query.isEmpty() || terms.length == 0) {
+            return -1;
+        }
+
+        Scratch s = scratch.get();
+        int queryTrigrams = query.length();
+        int touched = 0;
+
+        for (int i = 0; i < query.length(); i++) {
+            int slot = find(trigram(query, i));
+            if (slot < 0) {
+                continue;
+            }
+            for (int t : tablePostings[slot]) {
+                if (s.counts[t]++ == 0) {
+                    s.touched[touched++] = t;
+                }
+            }
+        }
+
+        int best = -1;
+        double bestSimilarity = minSimilarity;
+        int minShared = queryTrigrams - 3 * maxEdits;
+
+        for (int k = 0; k < touched; k++) {
+            int t = s.touched[k];
+            int shared = s.counts[t];
+            s.counts[t] = 0;
+
+            String term = terms[t];
+            if (shared < Math.max(1, Math.max(minShared, trigramCounts[t] - 3 * maxEdits))
+                    || Math.abs(term.length() - query.length()) > maxEdits) {
+                continue;
+            }
+            int distance = boundedDistance(query, term, maxEdits, s.rows);
+            if (distance > maxEdits) {
+                continue;
+            }
+            double similarity = 1.0 - (double) distance / Math.max(query.length(), term.length());
+            if (similarity > bestSimilarity || (similarity == bestSimilarity && best == -1)) {
+                best = t;
+                bestSimilarity = similarity;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Levenshtein distance, or maxEdits + 1 as soon as it must exceed maxEdits
+     */
+    static int boundedDistance(String a, String b, int maxEdits, int[][] rows) {
+        int n = b.length();
+        int[] previous = rows[0].length > n ? rows[0] : (rows[0] = new int[n + 1]);
+        int[] current = rows[1].length > n ? rows[1] : (rows[1] = new int[n + 1]);
+
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+
+    private int find(long key) {
+        int slot = mix(key) & mask;
+        while (tableKeys[slot] != -1L) {
+            if (tableKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotFor(long key) {
+        int slot = mix(key) & mask;
+        while (tableKeys[slot] != -1L && tableKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * i-th trigram of the term padded with one marker on each side; a term of
+     * length n has n such trigrams
+     */
+    private static long trigram(String s, int i) {
+        return ((long) padded(s, i) << 32) | ((long) padded(s, i + 1) << 16) | padded(s, i + 2);
+    }
+
+    private static char padded(String s, int i) {
+        return i == 0 || i == s.length() + 1 ? PAD : s.charAt(i - 1);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Scratch {
+        final int[] counts;
+        final int[] touched;
+        final int[][] rows = {new int[64], new int[64]};
+
+        Scratch(int terms) {
+            counts = new int[terms];
+            touched = new int[terms];
+        }
+    }
+
+    /**
+     * Minimal long -> int counter used while building the index
+     */
+    private static final class LongIntMap {
+        long[] keys;
+        int[] values;
+        int size;
+
+        LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(expected * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, -1L);
+        }
+
+        void increment(long key) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != -1L && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == -1L) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot]++;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, -1L);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != -1L) {
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (keys[slot] != -1L) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
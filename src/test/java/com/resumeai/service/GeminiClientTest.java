@@ -0,0 +1,109 @@
+package com.resumeai.service;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiClientTest {
+
+    private static final String OK_BODY =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Java, SQL\"}]}}]}";
+
+    private MockWebServer server;
+    private GeminiTransport transport;
+    private GeminiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        transport = new GeminiTransport();
+        ReflectionTestUtils.setField(transport, "apiKey", "test");
+        ReflectionTestUtils.setField(transport, "apiUrl", server.url("/v1beta/models/stub:generateContent").toString());
+        ReflectionTestUtils.setField(transport, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(transport, "readTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(transport, "callTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(transport, "maxIdleConnections", 2);
+        ReflectionTestUtils.setField(transport, "keepAliveMinutes", 1L);
+        ReflectionTestUtils.setField(transport, "maxRequests", 8);
+        transport.init();
+
+        client = new GeminiClient();
+        ReflectionTestUtils.setField(client, "transport", transport);
+        ReflectionTestUtils.setField(client, "requestsPerMinute", 100_000L);
+        ReflectionTestUtils.setField(client, "tokensPerMinute", 100_000_000L);
+        ReflectionTestUtils.setField(client, "responseTokens", 512);
+        ReflectionTestUtils.setField(client, "maxAttempts", 3);
+        ReflectionTestUtils.setField(client, "initialBackoffMs", 10L);
+        ReflectionTestUtils.setField(client, "maxBackoffMs", 50L);
+        ReflectionTestUtils.setField(client, "initialConcurrency", 8);
+        ReflectionTestUtils.setField(client, "maxConcurrency", 32);
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transport.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void retriesAfterThrottlingAndHonorsRetryAfter() {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody(OK_BODY));
+
+        long started = System.nanoTime();
+        String text = client.generate("Extract skills");
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals("Java, SQL", text);
+        assertEquals(2, server.getRequestCount());
+        // Backoff alone would be at most 50 ms
+        assertTrue(elapsedMs >= 1000, "retried after " + elapsedMs + " ms");
+        GeminiClient.ClientStats stats = client.getStats();
+        assertEquals(1, stats.getRetries());
+        assertEquals(1, stats.getThrottled());
+        assertEquals(0, stats.getFailures());
+        // Halved from 8 by the 429, then +1/limit for the success
+        assertEquals(4, stats.getConcurrencyLimit());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsAndKeepsHalvingConcurrency() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        }
+
+        GeminiClient.GeminiCallException e =
+                assertThrows(GeminiClient.GeminiCallException.class, () -> client.generate("Extract skills"));
+
+        assertEquals(429, e.getStatus());
+        assertEquals(3, server.getRequestCount());
+        GeminiClient.ClientStats stats = client.getStats();
+        assertEquals(3, stats.getThrottled());
+        assertEquals(1, stats.getFailures());
+        assertEquals(1, stats.getConcurrencyLimit());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\":{\"code\":400}}"));
+
+        GeminiClient.GeminiCallException e =
+                assertThrows(GeminiClient.GeminiCallException.class, () -> client.generate("Extract skills"));
+
+        assertEquals(400, e.getStatus());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, client.getStats().getRetries());
+        assertEquals(8, client.getStats().getConcurrencyLimit());
+    }
+}
@@ -0,0 +1,82 @@
+package com.resumeai.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GeminiServiceTest {
+
+    private static final String ANA = "Ana Costa\nana.costa@example.com\nBackend engineer. Skills: Java, SQL";
+    private static final String BRUNO = "Bruno Dias\nbruno.dias@example.com\nData engineer. Skills: Python, Spark";
+
+    private GeminiClient geminiClient;
+    private ExtractionCacheService extractionCache;
+    private GeminiService geminiService;
+
+    @BeforeEach
+    void setUp() {
+        geminiClient = mock(GeminiClient.class);
+        extractionCache = mock(ExtractionCacheService.class);
+        when(extractionCache.key(anyString(), anyString())).thenAnswer(call -> "key:" + call.getArgument(0));
+
+        ResumeCompactor compactor = new ResumeCompactor();
+        ReflectionTestUtils.setField(compactor, "enabled", true);
+        ReflectionTestUtils.setField(compactor, "tokenBudget", 3000);
+
+        geminiService = new GeminiService();
+        ReflectionTestUtils.setField(geminiService, "geminiClient", geminiClient);
+        ReflectionTestUtils.setField(geminiService, "extractionCache", extractionCache);
+        ReflectionTestUtils.setField(geminiService, "localExtractor", mock(LocalResumeExtractor.class));
+        ReflectionTestUtils.setField(geminiService, "compactor", compactor);
+    }
+
+    @Test
+    void rejectsBatchedResultsWithSwappedIds() {
+        // The model answers with each candidate under the other resume's id
+        when(geminiClient.generate(anyString())).thenAnswer(call -> {
+            String prompt = call.getArgument(0);
+            if (prompt.startsWith("Extract the candidate's full name")) {
+                return "["
+                        + "{\"id\": 0, \"name\": \"Bruno Dias\", \"email\": \"bruno.dias@example.com\", \"skills\": [\"Python\"]},"
+                        + "{\"id\": 1, \"name\": \"Ana Costa\", \"email\": \"ana.costa@example.com\", \"skills\": [\"Java\"]}]";
+            }
+            return prompt.contains(ANA)
+                    ? "Name: Ana Costa\nEmail: ana.costa@example.com\nSkills: Java, SQL"
+                    : "Name: Bruno Dias\nEmail: bruno.dias@example.com\nSkills: Python, Spark";
+        });
+
+        List<GeminiService.CandidateInfo> results = geminiService.extractCandidateInfoBatch(List.of(ANA, BRUNO));
+
+        assertEquals("ana.costa@example.com", results.get(0).getEmail());
+        assertEquals("Ana Costa", results.get(0).getName());
+        assertEquals("bruno.dias@example.com", results.get(1).getEmail());
+        assertEquals("Bruno Dias", results.get(1).getName());
+        verify(geminiClient, times(3)).generate(anyString());
+        // Only the single-extraction results are cached, each under its own resume
+        verify(extractionCache, times(2)).put(anyString(), any());
+        verify(extractionCache).put(eq("key:" + ANA), argThat(info -> info.getEmail().equals("ana.costa@example.com")));
+        verify(extractionCache).put(eq("key:" + BRUNO), argThat(info -> info.getEmail().equals("bruno.dias@example.com")));
+    }
+
+    @Test
+    void acceptsBatchedResultsWhoseEmailOccursInTheResume() {
+        when(geminiClient.generate(anyString())).thenReturn("["
+                + "{\"id\": 0, \"name\": \"Ana Costa\", \"email\": \"Ana.Costa@example.com\", \"skills\": [\"Java\"]},"
+                + "{\"id\": 1, \"name\": \"Bruno Dias\", \"email\": \"bruno.dias@example.com\", \"skills\": [\"Python\"]}]");
+
+        List<GeminiService.CandidateInfo> results = geminiService.extractCandidateInfoBatch(List.of(ANA, BRUNO));
+
+        assertEquals("Ana Costa", results.get(0).getName());
+        assertEquals("Bruno Dias", results.get(1).getName());
+        verify(geminiClient, times(1)).generate(anyString());
+    }
+}
@@ -0,0 +1,73 @@
+package com.resumeai.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalResumeExtractorTest {
+
+    private LocalResumeExtractor extractor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SkillCatalog catalog = new SkillCatalog();
+        ReflectionTestUtils.setField(catalog, "classpathCatalog", "skills/catalog.txt");
+        ReflectionTestUtils.setField(catalog, "catalogFile", "");
+        catalog.init();
+
+        extractor = new LocalResumeExtractor();
+        ReflectionTestUtils.setField(extractor, "skillCatalog", catalog);
+        ReflectionTestUtils.setField(extractor, "enabled", true);
+        ReflectionTestUtils.setField(extractor, "confidenceThreshold", 0.9);
+    }
+
+    @Test
+    void resolvesLocallyWhenCatalogCoversListedSkills() {
+        String resume = "Maria Lopez\nmaria.lopez@example.com | +1 555 010 2030\n"
+                + "Backend engineer building payment services.\n"
+                + "Skills: Java, Spring Boot, SQL, Docker, Kubernetes\n";
+
+        GeminiService.CandidateInfo info = extractor.tryResolve(resume);
+
+        assertNotNull(info);
+        assertEquals("Maria Lopez", info.getName());
+        assertTrue(info.getSkills().contains("Kubernetes"));
+    }
+
+    @Test
+    void resolvesLocallyWithoutPhoneWhenCatalogCoversListedSkills() {
+        String resume = "Maria Lopez\nmaria.lopez@example.com\n"
+                + "Backend engineer building payment services.\n"
+                + "Skills: Java, Spring Boot, SQL, Docker, Kubernetes\n";
+
+        LocalResumeExtractor.LocalExtraction extraction = extractor.extract(resume);
+
+        assertEquals("", extraction.getPhone());
+        assertEquals(90, extraction.getPoints());
+        assertNotNull(extractor.tryResolve(resume));
+    }
+
+    @Test
+    void leavesResumeToGeminiWhenListedSkillsAreOutsideCatalog() {
+        String resume = "Maria Lopez\nmaria.lopez@example.com | +1 555 010 2030\n"
+                + "Backend engineer building payment services with Java, Spring Boot, SQL, Docker and Kubernetes.\n"
+                + "Technical Skills\n"
+                + "Java, Temporal, Pulumi, dbt\n"
+                + "Airbyte, Dagster\n";
+
+        LocalResumeExtractor.LocalExtraction extraction = extractor.extract(resume);
+
+        assertTrue(extraction.getConfidence() < 0.9, "confidence " + extraction.getConfidence());
+        assertNull(extractor.tryResolve(resume));
+    }
+
+    @Test
+    void leavesResumeWithoutSkillsSectionToGemini() {
+        String resume = "Maria Lopez\nmaria.lopez@example.com | +1 555 010 2030\n"
+                + "Built services in Java, Spring Boot, SQL, Docker and Kubernetes.\n";
+
+        assertNull(extractor.tryResolve(resume));
+    }
+}
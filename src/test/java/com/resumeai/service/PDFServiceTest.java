@@ -0,0 +1,95 @@
+package com.resumeai.service;
+
+import com.resumeai.util.PathMultipartFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PDFServiceTest {
+
+    private static final int PAGES = 16;
+
+    @TempDir
+    Path tempDir;
+
+    private ThreadPoolExecutor pageExecutor;
+    private PathMultipartFile pdf;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pageExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(3);
+        Path file = tempDir.resolve("long-resume.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int page = 1; page <= PAGES; page++) {
+                PDPage pdfPage = new PDPage();
+                document.addPage(pdfPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdfPage)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 11);
+                    content.newLineAtOffset(50, 720);
+                    for (int line = 1; line <= 30; line++) {
+                        content.showText("Page " + page + " line " + line + ": built Java services, SQL tuning, "
+                                + "Kubernetes rollouts and on-call for team " + (page * 31 + line) % 17);
+                        content.newLineAtOffset(0, -14);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        pdf = new PathMultipartFile(file, "long-resume.pdf", "application/pdf", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pageExecutor.shutdownNow();
+    }
+
+    @Test
+    void parallelExtractionMatchesSerial() throws IOException {
+        String serial = service(false, 100_000).extractTextFromPDF(pdf);
+        String parallel = service(true, 100_000).extractTextFromPDF(pdf);
+
+        assertTrue(pageExecutor.getCompletedTaskCount() > 0, "page ranges were not stripped in parallel");
+        assertTrue(serial.contains("Page " + PAGES + " line 30"));
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    void parallelExtractionMatchesSerialWhenTruncated() throws IOException {
+        // Cut inside the second range
+        int maxChars = 20_000;
+
+        String serial = service(false, maxChars).extractTextFromPDF(pdf);
+        String parallel = service(true, maxChars).extractTextFromPDF(pdf);
+
+        assertEquals(serial, parallel);
+    }
+
+    private PDFService service(boolean parallel, int maxChars) {
+        PDFService service = new PDFService();
+        ReflectionTestUtils.setField(service, "ocrService", mock(OcrService.class));
+        ReflectionTestUtils.setField(service, "pdfPageExecutor", pageExecutor);
+        ReflectionTestUtils.setField(service, "maxMainMemoryMb", 4L);
+        ReflectionTestUtils.setField(service, "maxPages", 20);
+        ReflectionTestUtils.setField(service, "maxChars", maxChars);
+        ReflectionTestUtils.setField(service, "parallelEnabled", parallel);
+        ReflectionTestUtils.setField(service, "parallelMinPages", 12);
+        ReflectionTestUtils.setField(service, "minPagesPerRange", 4);
+        return service;
+    }
+}
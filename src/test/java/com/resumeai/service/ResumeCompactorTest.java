@@ -0,0 +1,55 @@
+package com.resumeai.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeCompactorTest {
+
+    private ResumeCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        compactor = new ResumeCompactor();
+        ReflectionTestUtils.setField(compactor, "enabled", true);
+        ReflectionTestUtils.setField(compactor, "tokenBudget", 3000);
+    }
+
+    @Test
+    void keepsEmailUnderPersonalDetailsHeading() {
+        String resume = "Curriculum Vitae\n"
+                + "Experience\n"
+                + "Backend engineer at Acme, building payment services in Java and Spring Boot.\n"
+                + "Skills\n"
+                + "Java, Spring Boot, SQL\n"
+                + "Personal Details\n"
+                + "Name: Ana Costa\n"
+                + "Email: ana.costa@example.com\n"
+                + "Hobbies\n"
+                + "Chess and hiking\n";
+
+        String compacted = compactor.compact(resume);
+
+        assertTrue(compacted.contains("Name: Ana Costa"), compacted);
+        assertTrue(compacted.contains("Email: ana.costa@example.com"), compacted);
+        assertFalse(compacted.contains("Chess"), compacted);
+    }
+
+    @Test
+    void keepsPersonalDetailsWhenTrimmingToBudget() {
+        ReflectionTestUtils.setField(compactor, "tokenBudget", 40);
+        StringBuilder resume = new StringBuilder("Experience\n");
+        for (int i = 1; i <= 20; i++) {
+            resume.append("Role ").append(i).append(": shipped services for the billing platform team\n");
+        }
+        resume.append("Personal Information\nAna Costa\nana.costa@example.com\n");
+
+        String compacted = compactor.compact(resume.toString());
+
+        assertTrue(compacted.contains("Ana Costa"), compacted);
+        assertTrue(compacted.contains("ana.costa@example.com"), compacted);
+        assertFalse(compacted.contains("Role 20"), compacted);
+    }
+}
@@ -0,0 +1,75 @@
+package com.resumeai.service;
+
+import com.resumeai.model.ResumeFingerprint;
+import com.resumeai.repository.ResumeFingerprintRepository;
+import com.resumeai.util.MinHashIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeDedupServiceTest {
+
+    private static final String BODY = "Senior backend engineer with eight years of experience building payment "
+            + "platforms in Java and Spring Boot. Led the migration of a monolith to microservices on Kubernetes, "
+            + "cut checkout latency by forty percent, and mentored a team of six engineers. Skills: Java, Spring Boot, "
+            + "SQL, Docker, Kubernetes, AWS, Kafka. Education: BSc Computer Science, University of Lisbon.";
+
+    private ResumeDedupService dedupService;
+
+    @BeforeEach
+    void setUp() {
+        ResumeFingerprintRepository repository = mock(ResumeFingerprintRepository.class);
+        dedupService = new ResumeDedupService();
+        ReflectionTestUtils.setField(dedupService, "fingerprintRepository", repository);
+        ReflectionTestUtils.setField(dedupService, "enabled", true);
+        ReflectionTestUtils.setField(dedupService, "nearDuplicateThreshold", 0.85);
+
+        String text = "Ana Costa\nana.costa@example.com\n" + BODY;
+        ResumeFingerprint fingerprint = new ResumeFingerprint("hash-1",
+                MinHashIndex.toBytes(MinHashIndex.signature(text)), text,
+                "Ana Costa", "ana.costa@example.com", "Java\nSpring Boot");
+        fingerprint.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(fingerprint));
+        dedupService.registerAll(List.of(fingerprint));
+    }
+
+    @Test
+    void reusesNearDuplicateWithSameEmail() {
+        String text = "Ana Costa\nAna.Costa@example.com\n" + BODY + " References available on request.";
+
+        Optional<ResumeDedupService.Match> match = dedupService.findNear(text, MinHashIndex.signature(text));
+
+        assertTrue(match.isPresent());
+        assertEquals("Ana Costa", match.get().getInfo().getName());
+    }
+
+    @Test
+    void rejectsNearDuplicateWithDifferentEmail() {
+        String text = "Bruno Dias\nbruno.dias@example.com\n" + BODY;
+
+        assertTrue(dedupService.findNear(text, MinHashIndex.signature(text)).isEmpty());
+    }
+
+    @Test
+    void rejectsNearDuplicateWithoutEmail() {
+        String text = "Bruno Dias\nContact via the recruiter portal\n" + BODY;
+
+        assertTrue(dedupService.findNear(text, MinHashIndex.signature(text)).isEmpty());
+        assertEquals(0, dedupService.getStats().getNearDuplicates());
+    }
+
+    @Test
+    void ignoresUnrelatedText() {
+        String text = "Chen Wu\nchen.wu@example.com\nData analyst focused on marketing attribution, dashboards "
+                + "in Tableau and forecasting models in R and Python for retail clients across Asia.";
+
+        assertTrue(dedupService.findNear(text, MinHashIndex.signature(text)).isEmpty());
+    }
+}